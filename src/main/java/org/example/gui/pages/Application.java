@@ -7,7 +7,9 @@ import com.formdev.flatlaf.themes.FlatMacDarkLaf;
 import org.example.gui.pages.login.LoginForm;
 import org.example.gui.manager.FormsManager;
 import org.example.utility.api.APIClient;
+import org.example.utility.api.KeepWarmScheduler;
 import org.example.utility.api.PythonAPI;
+import org.example.utility.courses.CatalogWatcher;
 import raven.toast.Notifications;
 
 import javax.swing.*;
@@ -83,6 +85,12 @@ public class Application extends JFrame {
         PythonAPI.runAPI();
         APIClient.runAPI();
 
+        // Ping the backup API while the application is in use, so it does not go to sleep
+        KeepWarmScheduler.start();
+
+        // Reload the course catalog whenever the course data is updated
+        CatalogWatcher.start();
+
         // Schedule the GUI to be created and displayed on the Event Dispatch Thread
         EventQueue.invokeLater(() -> new Application().setVisible(true));
     }
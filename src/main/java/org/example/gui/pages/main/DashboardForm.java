@@ -10,10 +10,8 @@ import org.example.people.Counselor;
 import org.example.people.User;
 import org.example.people.UserInput;
 import org.example.utility.JsonUtil;
-import org.example.utility.api.APIClient;
 import org.example.utility.courses.Course;
-import org.example.utility.courses.CourseAssembly;
-import org.example.utility.courses.ExcelUtility;
+import org.example.utility.courses.CourseCatalog;
 import org.example.utility.courses.JsonToPdfConverter;
 
 import javax.swing.*;
@@ -21,7 +19,6 @@ import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -69,8 +66,8 @@ public class DashboardForm extends JPanel {
     /** ComboBox array for course name selection. */
     private JComboBox[] courseName;
 
-    /** List of all available courses. */
-    private final String[] courses = ExcelUtility.getAllCourseNames();
+    /** The shared catalog of all available courses. */
+    private final CourseCatalog catalog = CourseCatalog.getInstance();
 
     /** Flag to determine if editing mode is active. */
     private boolean isEditing = false;
@@ -94,7 +91,6 @@ public class DashboardForm extends JPanel {
     public DashboardForm(String username, String name) {
         this.username = username;
         this.name = name;
-        new CourseAssembly();
         init();
     }
 
@@ -109,7 +105,6 @@ public class DashboardForm extends JPanel {
         this.name = user.getFirstName();
         this.userInput = new UserInput();
         userInput.setUsername(username);
-        new CourseAssembly();
         init();
     }
 
@@ -268,7 +263,7 @@ public class DashboardForm extends JPanel {
 
         int grade = Integer.parseInt(gradeData[0].replaceAll("\\D", ""));
 
-        String[] gradeCourses = filterCoursesByGrade(courses, grade);
+        String[] gradeCourses = filterCoursesByGrade(grade);
         // Add each course to each combo box
         for (int i = 0; i < 8; i++) {
             courseName[i] = new JComboBox<>(gradeCourses);
@@ -301,19 +296,11 @@ public class DashboardForm extends JPanel {
     /**
      * Filters courses by grade level.
      *
-     * @param courses the array of course strings
      * @param targetGrade the target grade level to filter by
      * @return the array of filtered course strings
      */
-    public String[] filterCoursesByGrade(String[] courses, int targetGrade) {
-
-        // Use streams to filter and map courses
-        return Arrays.stream(courses)
-                .map(courseString -> courseString.split(" - ")[0]) // Extract course code
-                .map(CourseAssembly::getCourse) // Convert code to Course object
-                .filter(course -> course != null && course.getGradeLevel() == targetGrade) // Filter by grade
-                .map(course -> course.getCourseCode() + " - " + course.getCourseName()) // Format the course string
-                .toArray(String[]::new); // Collect results into an array
+    public String[] filterCoursesByGrade(int targetGrade) {
+        return catalog.getCourseNamesForGrade(targetGrade);
     }
 
 
@@ -3,16 +3,14 @@ package org.example.gui.pages.quiz;
 import com.formdev.flatlaf.FlatClientProperties;
 import net.miginfocom.swing.MigLayout;
 import org.example.gui.pages.Application;
-import org.example.people.UserInput;
-import org.example.utility.courses.Course;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.concurrent.CountDownLatch;
+import java.util.function.Consumer;
 
 /**
  * The FillCourses class represents a panel in the GUI where the user can input additional interests for courses.
- * It allows the user to provide input, which is used to fill courses for a student.
+ * It allows the user to provide input, which is used to fill courses for a student by {@link InteractiveFillPolicy}.
  */
 public class FillCourses extends JPanel {
 
@@ -47,14 +45,9 @@ public class FillCourses extends JPanel {
     private JButton nextButton;
 
     /**
-     * The student whose courses are being filled.
+     * Called with the user's answer when they move on.
      */
-    private UserInput student;
-
-    /**
-     * CountDownLatch used to synchronize the completion of the task.
-     */
-    private CountDownLatch latch;
+    private Consumer<String> onAnswer;
 
     /**
      * JFrame reference
@@ -62,15 +55,13 @@ public class FillCourses extends JPanel {
     private JFrame frame = Application.getInstance();
 
     /**
-     * Constructs a FillCourses panel with the provided student and latch.
+     * Constructs a FillCourses panel that hands the user's answer to the given callback.
      *
-     * @param student The student whose courses are being filled.
-     * @param latch   The CountDownLatch used to synchronize tasks.
+     * @param onAnswer Called with the user's answer when they move on.
      */
-    public FillCourses(UserInput student, CountDownLatch latch) {
+    public FillCourses(Consumer<String> onAnswer) {
         frame.setMinimumSize(new Dimension(875, 525));
-        this.student = student;
-        this.latch = latch;
+        this.onAnswer = onAnswer;
         init();
     }
 
@@ -213,7 +204,7 @@ public class FillCourses extends JPanel {
      */
     private void handlePage() {
         String answerText = answerArea.getText().trim();
-        Course.getNonFilledClassesResponse(student, answerText); // Fill the user's courses with their new interests
-        latch.countDown();
+        nextButton.setEnabled(false); // The answer is only used once
+        onAnswer.accept(answerText); // Fill the user's courses with their new interests
     }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ import org.example.gui.component.jcomponents.PageMenuIndicator;
 import org.example.gui.manager.FormsManager;
 import org.example.gui.pages.Application;
 import org.example.people.UserInput;
+import org.example.utility.api.InterestPrefetcher;
 
 import javax.swing.*;
 import java.awt.*;
@@ -264,6 +265,7 @@ public class Form3 extends JPanel {
     private void handlePage(boolean isNext) {
         String answerText = answerArea.getText().trim();
         user.setInterests1(answerText);
+        InterestPrefetcher.schedule(user); // Starts looking up courses while the quiz goes on
         if (isNext) {
             // Check if the text has at least 3 characters
             if (answerText.length() >= 3) {
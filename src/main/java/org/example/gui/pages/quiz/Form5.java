@@ -13,6 +13,7 @@ import org.example.people.UserInput;
 import org.example.people.User;
 import org.example.utility.courses.Course;
 import org.example.utility.courses.CourseAssembly;
+import org.example.utility.courses.CourseCatalog;
 import org.example.utility.UsersUtil;
 
 import javax.swing.*;
@@ -22,8 +23,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.stream.Collectors;
 
-import static org.example.utility.courses.ExcelUtility.getAllCourseNames;
-
 /**
  * Form5 represents a panel that displays the fifth question -- selecting previous courses
  *
@@ -83,6 +82,11 @@ public class Form5 extends JPanel {
      */
     private boolean isSubmitClicked = false;
 
+    /**
+     * The shared catalog of all available courses.
+     */
+    private CourseCatalog catalog = CourseCatalog.getInstance();
+
     /**
      * JFrame reference
      */
@@ -117,7 +121,7 @@ public class Form5 extends JPanel {
      * @param combo The combo box to populate.
      */
     private void classData(JComboBox combo) {
-        combo.setModel(new javax.swing.DefaultComboBoxModel<>(getAllCourseNames()));
+        combo.setModel(new javax.swing.DefaultComboBoxModel<>(catalog.getCourseNames()));
     }
 
     /**
@@ -335,27 +339,22 @@ public class Form5 extends JPanel {
 
 
 
-                // Run the assessment in a separate thread
-                SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-                    @Override
-                    protected Void doInBackground() throws Exception {
-                        CourseAssembly.runAssessment(user);
-                        return null;
-                    }
-
-                    @Override
-                    protected void done() {
-                        // Re-enable the button or update UI if needed
-                        nextButton.setEnabled(true);
-                        isSubmitClicked = false;
-
-                        // Switch to the main page
-                        User userMain = UsersUtil.getUserWithUsername(user.getUsername());
-                        String name = userMain.getFirstName();
-                        FormsManager.getInstance().showForm(new DashboardForm(user.getUsername(),name));
-                    }
-                };
-                worker.execute();
+                // Run the assessment in the background, the student is asked to fill empty slots if needed
+                CourseAssembly.runAssessment(user, new InteractiveFillPolicy()).whenComplete((context, error) ->
+                        SwingUtilities.invokeLater(() -> {
+                            if (error != null) {
+                                error.printStackTrace();
+                            }
+
+                            // Re-enable the button or update UI if needed
+                            nextButton.setEnabled(true);
+                            isSubmitClicked = false;
+
+                            // Switch to the main page
+                            User userMain = UsersUtil.getUserWithUsername(user.getUsername());
+                            String name = userMain.getFirstName();
+                            FormsManager.getInstance().showForm(new DashboardForm(user.getUsername(),name));
+                        }));
             }
         } else {
             question--;
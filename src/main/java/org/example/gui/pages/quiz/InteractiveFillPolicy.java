@@ -0,0 +1,40 @@
+package org.example.gui.pages.quiz;
+
+import org.example.gui.manager.FormsManager;
+import org.example.utility.courses.Course;
+import org.example.utility.courses.CourseAssembly;
+import org.example.utility.courses.FillPolicy;
+import org.example.utility.courses.RecommendationContext;
+
+import javax.swing.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fill policy that asks the student for more interests through the {@link FillCourses} form.
+ *
+ * <p>The form is shown on the event dispatch thread and the returned future completes when the student answers,
+ * so no thread waits on the prompt. The answer is processed on the assessment executor, off the event dispatch thread
+ * and the common pool, because it may call the API.</p>
+ */
+public class InteractiveFillPolicy implements FillPolicy {
+    /**
+     * Shows the prompt and fills the empty slots with the student's answer.
+     *
+     * @param context The assessment whose plan has empty slots.
+     * @return A future completed once the slots are filled with the student's answer.
+     */
+    @Override
+    public CompletableFuture<Void> fill(RecommendationContext context) {
+        CompletableFuture<Void> filled = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> FormsManager.getInstance().showForm(new FillCourses(answer ->
+                CompletableFuture.runAsync(() -> Course.getNonFilledClassesResponse(context, answer), CourseAssembly.getAssessmentExecutor())
+                        .whenComplete((ignored, error) -> {
+                            if (error != null) {
+                                filled.completeExceptionally(error);
+                            } else {
+                                filled.complete(null);
+                            }
+                        }))));
+        return filled;
+    }
+}
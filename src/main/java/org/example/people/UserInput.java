@@ -1,15 +1,26 @@
 package org.example.people;
 
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * The UserInput class represents the information inputted by the user (student),
  * including their interests, previous courses, grade level, track, and username.
  */
 public class UserInput {
+    /**
+     * The tracks a student can pursue, spelled the way the course data spells them.
+     */
+    public static final String[] TRACKS = {"University", "College", "Open"};
+
     private String[] interests;
     private String previousCourses;
     private int grade;
     private String track;
     private String username;
+    private String prefetchedInterests;
+    private CompletableFuture<ArrayList<String>> prefetchedCourses;
 
 
     /**
@@ -25,7 +36,7 @@ public class UserInput {
         this.interests = interests;
         this.previousCourses = previousCourses;
         this.grade = grade;
-        this.track = track;
+        this.track = toCanonicalTrack(track);
         this.username = username;
     }
 
@@ -107,12 +118,52 @@ public class UserInput {
     }
 
     /**
-     * Sets the track of the student.
+     * Sets the track of the student. A known track is stored in its canonical spelling, whatever its case.
      *
      * @param track The track to set.
      */
     public void setTrack(String track) {
-        this.track = track;
+        this.track = toCanonicalTrack(track);
+    }
+
+    /**
+     * Looks up the canonical spelling of a track, ignoring case and surrounding spaces.
+     *
+     * @param track The track, as entered.
+     * @return The track as listed in {@link #TRACKS}, or null if it is not a known track.
+     */
+    public static String canonicalTrack(String track) {
+        if (track != null) {
+            for (String known : TRACKS) {
+                if (known.equalsIgnoreCase(track.trim())) {
+                    return known;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores known tracks in their canonical spelling, and other values (such as the quiz's "null" for an
+     * undecided student) as they are.
+     *
+     * @param track The track, as entered.
+     * @return The track to store.
+     */
+    private static String toCanonicalTrack(String track) {
+        String canonical = canonicalTrack(track);
+        return canonical != null ? canonical : track;
+    }
+
+    /**
+     * Normalizes interests so answers that only differ in case or spacing are treated as the same answer,
+     * for instance when they are used as a cache key.
+     *
+     * @param interests The student's interests.
+     * @return The normalized interests.
+     */
+    public static String normalizeInterests(String interests) {
+        return interests == null ? "" : interests.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -150,4 +201,33 @@ public class UserInput {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    /**
+     * Returns the interests the pending course lookup was started for.
+     *
+     * @return The prefetched interests, or null if no lookup is pending.
+     */
+    public synchronized String getPrefetchedInterests() {
+        return prefetchedInterests;
+    }
+
+    /**
+     * Returns the pending lookup of the courses recommended for the student's interests.
+     *
+     * @return The pending lookup, or null if none was started.
+     */
+    public synchronized CompletableFuture<ArrayList<String>> getPrefetchedCourses() {
+        return prefetchedCourses;
+    }
+
+    /**
+     * Sets the pending lookup of the courses recommended for the student's interests.
+     *
+     * @param interests The interests the lookup was started for, or null to clear it.
+     * @param courses   The pending lookup, or null to clear it.
+     */
+    public synchronized void setPrefetchedCourses(String interests, CompletableFuture<ArrayList<String>> courses) {
+        this.prefetchedInterests = interests;
+        this.prefetchedCourses = courses;
+    }
 }
\ No newline at end of file
@@ -1,22 +1,38 @@
 package org.example.utility.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.utility.courses.CourseAssembly;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.example.utility.courses.CourseCatalog;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.InputStream;
+import java.net.URI;
 import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * APIClient class handles the interaction with external APIs to fetch course recommendations based on user interests.
  * It supports concurrent API requests with timeout management and error handling.
  * The class implements the Deployment interface to manage the deployment process.
+ *
+ * <p>All requests go through one {@link HttpClient} shared by the whole process, so connections to the API are
+ * kept alive and reused between assessments (over HTTP/2 where the server supports it), and requests are sent
+ * asynchronously on a thread pool created once instead of per call.</p>
+ *
+ * <p>The health of each API is tracked in an {@link EndpointHealth}. An API whose circuit is open is skipped by
+ * assessments, which go straight to the other one, and is probed in the background until it answers again.</p>
  */
 public class APIClient implements Deployment {
 
@@ -31,169 +47,527 @@ public class APIClient implements Deployment {
     private static final int READ_TIMEOUT = 20000;
 
     /**
-     * Fetches course data based on user interests from external APIs.
-     * The method makes concurrent requests to two URLs (primary and backup) until it successfully receives data.
+     * URL of the primary API, run locally by {@link PythonAPI}.
+     * Set with the {@code api.primaryUrl} system property, for example to a {@link StubRecommendationServer}.
+     */
+    private static final String PRIMARY_URL = System.getProperty("api.primaryUrl", "http://127.0.0.1:8000/recommend-courses/");
+
+    /**
+     * URL of the backup API, hosted remotely.
+     * Set with the {@code api.backupUrl} system property, for example to a {@link StubRecommendationServer}.
+     */
+    private static final String BACKUP_URL = System.getProperty("api.backupUrl", "https://coursesapi-84sd.onrender.com/recommend-courses/");
+
+    /**
+     * Time (in milliseconds) the primary API gets to answer before the same request is also sent to the backup API.
+     * Set with the {@code api.hedgeDelay} system property, 0 sends both requests at once.
+     */
+    private static final long HEDGE_DELAY = Math.max(0, Long.getLong("api.hedgeDelay", 300));
+
+    /**
+     * Time (in milliseconds) after which the courses are matched locally if neither API has answered.
+     * Set with the {@code api.deadline} system property.
+     */
+    private static final long DEADLINE = Math.max(1, Long.getLong("api.deadline", 8000));
+
+    /**
+     * Path of the batch endpoint, relative to the URL of each API.
+     * It takes a POST of {@code {"interests": [...]}} and answers with one array of course objects per query.
+     */
+    private static final String BATCH_PATH = "batch";
+
+    /**
+     * Mapper writing the body of batch requests.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The batcher interest queries are coalesced in, or null to send each query on its own.
+     */
+    private static volatile RecommendationBatcher batcher;
+
+    /**
+     * Maximum number of courses read from an API response, the rest of the response is never parsed.
+     * Set with the {@code api.maxCourses} system property.
+     */
+    private static final int MAX_COURSES = Math.max(1, Integer.getInteger("api.maxCourses", 50));
+
+    /**
+     * Interests sent by the background probe of an API whose circuit is open.
+     */
+    private static final String PROBE_INTERESTS = "computers";
+
+    /**
+     * The health of the primary API.
+     */
+    private static final EndpointHealth PRIMARY = new EndpointHealth(PRIMARY_URL);
+
+    /**
+     * The health of the backup API.
+     */
+    private static final EndpointHealth BACKUP = new EndpointHealth(BACKUP_URL);
+
+    /**
+     * Thread scheduling the probes of APIs whose circuit is open.
+     */
+    private static final ScheduledExecutorService PROBE_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-health-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Threads the HTTP client runs its requests and completes its futures on.
+     * They are daemon threads so a pending request never keeps the application open.
+     */
+    private static final ExecutorService HTTP_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "api-client");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The HTTP client shared by every request, which pools the connections to the API.
+     */
+    private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(CONNECTION_TIMEOUT))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(HTTP_EXECUTOR)
+            .build();
+
+    /**
+     * Fetches course data based on user interests from external APIs, waiting for the result.
      *
      * @param interests The interests of the user to filter course recommendations.
      * @return A list of course codes recommended based on the provided interests.
+     * @see #getAPIDataClassesAsync(String)
      */
     public static ArrayList<String> getAPIDataClasses(String interests) {
+        return getAPIDataClassesAsync(interests).join();
+    }
 
-        ArrayList<String> courses = new ArrayList<>();
-
-        // First URL (primary API)
-        String firstUrl = "http://127.0.0.1:8000/recommend-courses/";
-        // Second URL (backup API)
-        String secondUrl = "https://coursesapi-84sd.onrender.com/recommend-courses/";
+    /**
+     * Fetches course data based on user interests from external APIs, hedging the primary API with the backup API.
+     *
+     * <p>The request is sent to the primary API first. If it has not answered after {@link #HEDGE_DELAY}
+     * milliseconds, or fails before that, the same request is sent to the backup API. The first valid answer wins
+     * and the other request is cancelled. If neither API has answered after {@link #DEADLINE} milliseconds, or both
+     * fail, the courses are matched locally by the catalog's {@link org.example.utility.courses.InterestMatcher},
+     * so the returned future always completes in time and never fails.</p>
+     *
+     * <p>An API whose circuit is open is skipped: if the primary is down the request goes straight to the backup,
+     * and if both are down the interests are matched locally right away.</p>
+     *
+     * <p>Answers are kept in the {@link InterestCache}, so the APIs are only called for interests without a fresh
+     * answer. When no API answers, a stale answer of the same interests is used before matching them locally, and
+     * the result is marked so callers can tell (see {@link #isFallback(List)}).
+     * If a batcher is set (see {@link #setBatcher(RecommendationBatcher)}), the query joins a batch first.</p>
+     *
+     * @param interests The interests of the user to filter course recommendations.
+     * @return A future completed with the list of course codes recommended based on the provided interests.
+     */
+    public static CompletableFuture<ArrayList<String>> getAPIDataClassesAsync(String interests) {
+        KeepWarmScheduler.touch(); // Recommendations are being asked for, keep the backup API awake
+        // The cache may read from disk and the catalog may still be loading, so the lookup runs off the caller's thread
+        return CompletableFuture.supplyAsync(CourseCatalog::getInstance, HTTP_EXECUTOR)
+                .thenCompose(catalog -> {
+                    ArrayList<String> cached = InterestCache.getInstance().get(interests, catalog.getVersion());
+                    if (cached != null) {
+                        return CompletableFuture.completedFuture(cached);
+                    }
 
-        // Create executor service for concurrent tasks
-        ExecutorService executorService = Executors.newFixedThreadPool(2);
+                    // A query the batch could not answer is looked up on its own
+                    RecommendationBatcher current = batcher;
+                    return current == null ? fetchHedged(interests, catalog) : current.submit(interests)
+                            .thenCompose(courses -> courses != null ? CompletableFuture.completedFuture(courses) : fetchHedged(interests, catalog));
+                });
+    }
 
-        // Callable for fetching data from first URL
-        Callable<String> fetchFirstUrlTask = () -> fetchDataFromUrlClasses(firstUrl, interests);
+    /**
+     * Fetches course data from the APIs, hedging the primary API with the backup API, and caches the answer.
+     *
+     * @param interests The interests of the user to filter course recommendations.
+     * @param catalog   The catalog in use, which the answer is read against and cached for.
+     * @return A future completed with the list of course codes recommended based on the provided interests.
+     * @see #getAPIDataClassesAsync(String)
+     */
+    private static CompletableFuture<ArrayList<String>> fetchHedged(String interests, CourseCatalog catalog) {
+        long catalogVersion = catalog.getVersion();
+
+        // Only healthy APIs are called, in order of preference
+        EndpointHealth first = PRIMARY.allowsRequests() ? PRIMARY : null;
+        EndpointHealth second = BACKUP.allowsRequests() ? BACKUP : null;
+        if (first == null) {
+            first = second;
+            second = null;
+        }
+        if (first == null) {
+            System.out.println("No API is available.");
+            return CompletableFuture.completedFuture(fallback(interests, catalogVersion));
+        }
 
-        // Callable for fetching data from second URL
-        Callable<String> fetchSecondUrlTask = () -> fetchDataFromUrlClasses(secondUrl, interests);
+        CompletableFuture<ArrayList<String>> result = new CompletableFuture<>();
+        CompletableFuture<ArrayList<String>> firstRequest = fetchCourses(first, interests, catalog);
+        CompletableFuture<ArrayList<String>> backup = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<ArrayList<String>>> backupRequest = new AtomicReference<>();
+        if (second == null) {
+            backupRequest.set(CompletableFuture.completedFuture(null)); // There is no backup to send
+        }
 
-        boolean fetched = false;
-        while (!fetched) {
-            try {
-                // Submit tasks and get futures
-                Future<String> firstUrlFuture = executorService.submit(fetchFirstUrlTask);
-                Future<String> secondUrlFuture = executorService.submit(fetchSecondUrlTask);
+        // Sends the backup request once, unless the result is already known
+        EndpointHealth preferred = first;
+        EndpointHealth hedge = second;
+        Runnable sendBackup = () -> {
+            if (!result.isDone() && backupRequest.compareAndSet(null, new CompletableFuture<>())) {
+                CompletableFuture<ArrayList<String>> request = fetchCourses(hedge, interests, catalog);
+                backupRequest.set(request);
+                request.whenComplete((courses, error) -> backup.complete(error == null ? courses : null));
+                result.whenComplete((courses, error) -> request.cancel(true));
+            }
+        };
+
+        // Counts the requests that may still answer, the last one to fail falls back
+        AtomicInteger answering = new AtomicInteger(second == null ? 1 : 2);
+        Runnable requestFailed = () -> {
+            if (answering.decrementAndGet() == 0 && !result.isDone()) {
+                System.out.println("Failed to fetch data from both URLs.");
+                result.complete(fallback(interests, catalogVersion));
+            }
+        };
+
+        // anyOf would also pick a failed request, so each request completes the result itself if it succeeded
+        // A request that completed exceptionally (e.g. its decoding threw) failed like one that returned null,
+        // thenAccept would skip it and leave the backup waiting for the hedge delay and the result for the deadline
+        firstRequest.whenComplete((answer, error) -> {
+            ArrayList<String> courses = error == null ? answer : null;
+            if (courses != null) {
+                complete(result, interests, catalogVersion, courses);
+            } else {
+                sendBackup.run(); // Do not wait for the hedge delay when the primary already failed
+                requestFailed.run();
+            }
+        });
+        backup.thenAccept(courses -> {
+            if (courses != null) {
+                complete(result, interests, catalogVersion, courses);
+            } else {
+                requestFailed.run();
+            }
+        });
 
-                // Get results, with timeout
-                String firstUrlResponse = null;
-                String secondUrlResponse = null;
+        CompletableFuture.delayedExecutor(HEDGE_DELAY, TimeUnit.MILLISECONDS, HTTP_EXECUTOR).execute(sendBackup);
+        CompletableFuture.delayedExecutor(DEADLINE, TimeUnit.MILLISECONDS, HTTP_EXECUTOR).execute(() -> {
+            if (!result.isDone()) {
+                System.out.println("No API answered within " + DEADLINE + " ms.");
 
-                try {
-                    firstUrlResponse = firstUrlFuture.get(CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS);
-                } catch (TimeoutException e) {
-                    System.out.println("Timeout occurred while fetching data from first URL.");
+                // A request still pending at the deadline counts as failed, the cancellation that follows is not recorded
+                if (!firstRequest.isDone() && preferred.recordFailure()) {
+                    scheduleProbe(preferred);
+                }
+                CompletableFuture<ArrayList<String>> request = backupRequest.get();
+                if (request != null && !request.isDone() && hedge.recordFailure()) {
+                    scheduleProbe(hedge);
                 }
+                result.complete(fallback(interests, catalogVersion));
+            }
+        });
 
-                if (firstUrlResponse != null) {
-                    // Parse and handle firstUrlResponse
-                    parseJsonResponse(firstUrlResponse, courses);
-                    fetched = true; // Set fetched to true on success
-                    secondUrlFuture.cancel(true); // Cancel the second task if the first one succeeded
-                } else {
-                    // Attempt to fetch from the second URL if first URL failed or timed out
-                    try {
-                        secondUrlResponse = secondUrlFuture.get(CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS);
-                    } catch (TimeoutException e) {
-                        System.out.println("Timeout occurred while fetching data from second URL.");
-                    }
+        // Whichever request lost is cancelled, the backup request is cancelled where it was sent
+        result.whenComplete((courses, error) -> firstRequest.cancel(true));
+        return result;
+    }
 
-                    if (secondUrlResponse != null) {
-                        // Parse and handle secondUrlResponse
-                        parseJsonResponse(secondUrlResponse, courses);
-                        fetched = true; // Set fetched to true on success
-                    } else {
-                        System.out.println("Failed to fetch data from both URLs.");
-                    }
-                }
+    /**
+     * Completes a lookup with the answer of an API and caches the answer, unless another answer came first.
+     *
+     * @param result         The lookup.
+     * @param interests      The interests of the user.
+     * @param catalogVersion The version of the catalog in use.
+     * @param courses        The course codes the API returned.
+     */
+    private static void complete(CompletableFuture<ArrayList<String>> result, String interests, long catalogVersion, ArrayList<String> courses) {
+        if (result.complete(courses)) {
+            InterestCache.getInstance().put(interests, catalogVersion, courses);
+        }
+    }
 
-            } catch (InterruptedException | ExecutionException e) {
-                System.out.println("Exception occurred: " + e.getMessage());
-                fetched = true; // Set fetched to true to break out of the loop on exception
-            }
+    /**
+     * Finds courses for the interests without the API: from a stale cached answer if there is one,
+     * otherwise by matching the interests locally.
+     *
+     * @param interests      The interests of the user.
+     * @param catalogVersion The version of the catalog in use.
+     * @return The course codes for the interests, marked as a fallback (see {@link #isFallback(List)}).
+     */
+    private static ArrayList<String> fallback(String interests, long catalogVersion) {
+        ArrayList<String> stale = InterestCache.getInstance().getStale(interests, catalogVersion);
+        if (stale != null) {
+            System.out.println("Using a cached answer for the interests.");
+            return new FallbackCourses(stale);
         }
+        System.out.println("Matching interests locally.");
+        return new FallbackCourses(CourseCatalog.getInstance().getInterestMatcher().recommend(interests));
+    }
 
-        // Shutdown executor service
-        executorService.shutdown();
+    /**
+     * Checks whether a lookup was answered without the API, from a stale cached answer or by matching the
+     * interests locally. Such an answer is only good until an API answers again, so it should not be kept
+     * in a cache of its own.
+     *
+     * @param courses The course codes a lookup returned.
+     * @return True if the courses are a fallback rather than the answer of an API.
+     */
+    public static boolean isFallback(List<String> courses) {
+        return courses instanceof FallbackCourses;
+    }
 
-        return courses;
+    /**
+     * The course codes of a lookup no API answered, told apart from an answer by their type.
+     */
+    private static class FallbackCourses extends ArrayList<String> {
+        FallbackCourses(List<String> courses) {
+            super(courses);
+        }
     }
 
     /**
-     * Parses the JSON response from the API and extracts course codes into the provided list.
+     * Fetches the courses recommended by one API, recording the outcome in its health.
+     * A request cancelled because the other API answered first is not recorded.
      *
-     * @param responseData The raw JSON response as a string from the API.
-     * @param courses The list to populate with course codes.
+     * @param endpoint  The API.
+     * @param interests The interests of the user.
+     * @param catalog   The catalog the course codes are read against.
+     * @return A future completed with the course codes, or with null if the request failed or the response was not valid.
      */
-    private static void parseJsonResponse(String responseData, ArrayList<String> courses) {
-        try {
-            JSONArray jsonArray = new JSONArray(responseData);
+    private static CompletableFuture<ArrayList<String>> fetchCourses(EndpointHealth endpoint, String interests, CourseCatalog catalog) {
+        long start = System.nanoTime();
+        CompletableFuture<ArrayList<String>> courses = fetchDataFromUrlClasses(endpoint.getUrl(), interests, catalog);
+
+        courses.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                return; // The other API answered first
+            } else if (result != null) {
+                endpoint.recordSuccess((System.nanoTime() - start) / 1e6);
+            } else if (endpoint.recordFailure()) {
+                scheduleProbe(endpoint);
+            }
+        });
+        return courses;
+    }
 
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-                String courseCode = jsonObject.getString("Course Code");
-                courses.add(courseCode);
+    /**
+     * Schedules a background probe of an API whose circuit is open.
+     * A failed probe reopens the circuit, which schedules the next probe.
+     *
+     * @param endpoint The API to probe.
+     */
+    private static void scheduleProbe(EndpointHealth endpoint) {
+        PROBE_SCHEDULER.schedule(() -> {
+            if (endpoint.startProbe()) {
+                fetchCourses(endpoint, PROBE_INTERESTS, CourseCatalog.getInstance());
             }
-        } catch (Exception e) {
-            // If no data from the API (can't parse any data to JSON)
-            System.out.println("No valid response");
-        }
+        }, endpoint.getRetryDelay(), TimeUnit.MILLISECONDS);
     }
 
     /**
-     * Fetches data from a given URL using the GET method, with error handling and timeout management.
+     * Sends a GET to a URL on the shared client and reads only the status of the response.
+     * Used to check that a server is up without caring what it answers.
      *
-     * @param apiUrl The URL to fetch data from.
-     * @param encodedInterests The encoded interests parameter to be included in the request.
-     * @return The raw response data as a string, or null if the request fails.
+     * @param url     The URL.
+     * @param timeout Time (in milliseconds) the server gets to answer.
+     * @return A future completed with the HTTP status code, or completed exceptionally if the server could not be reached.
      */
-    private static String fetchDataFromUrlClasses(String apiUrl, String encodedInterests) {
+    static CompletableFuture<Integer> ping(String url, long timeout) {
         try {
-            URL url = new URL(String.format("%s?interests=%s", apiUrl, URLEncoder.encode(encodedInterests, "UTF-8")));
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(Duration.ofMillis(timeout))
+                    .version(url.startsWith("https:") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .GET()
+                    .build();
+            return HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            // Set timeouts
-            conn.setConnectTimeout(CONNECTION_TIMEOUT);
-            conn.setReadTimeout(READ_TIMEOUT);
+    /**
+     * Sends several interest queries in one POST to the batch endpoint of the first healthy API.
+     * The answers are cached like single answers. A batch endpoint that answers with an error does not count
+     * against the health of the API, since older servers have no batch endpoint.
+     *
+     * @param interests The interest queries.
+     * @return A future completed with the course codes of each query, in the same order as the queries,
+     * or completed exceptionally if the batch failed.
+     */
+    static CompletableFuture<List<ArrayList<String>>> postBatch(List<String> interests) {
+        EndpointHealth endpoint = PRIMARY.allowsRequests() ? PRIMARY : BACKUP.allowsRequests() ? BACKUP : null;
+        if (endpoint == null) {
+            return CompletableFuture.failedFuture(new IOException("No API is available"));
+        }
 
-            conn.connect();
+        CourseCatalog catalog = CourseCatalog.getInstance();
+        HttpRequest request;
+        try {
+            String apiUrl = endpoint.getUrl() + BATCH_PATH;
+            request = HttpRequest.newBuilder(URI.create(apiUrl))
+                    .timeout(Duration.ofMillis(DEADLINE))
+                    .version(apiUrl.startsWith("https:") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(Map.of("interests", interests))))
+                    .build();
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-            // Check response code
-            int responseCode = conn.getResponseCode();
-            if (responseCode != HttpURLConnection.HTTP_OK) {
-                System.out.println("Failed to fetch data from URL: " + apiUrl + ", HTTP error code: " + responseCode);
-                return null;
+        long start = System.nanoTime();
+        CompletableFuture<List<ArrayList<String>>> results = new CompletableFuture<>();
+        HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream()).whenCompleteAsync((response, error) -> {
+            if (error != null) {
+                if (endpoint.recordFailure()) {
+                    scheduleProbe(endpoint);
+                }
+                results.completeExceptionally(error);
+                return;
             }
 
-            // Read the response
-            BufferedReader in = new BufferedReader(new InputStreamReader(conn.getInputStream()));
-            String inputLine;
-            StringBuilder response = new StringBuilder();
-            while ((inputLine = in.readLine()) != null) {
-                response.append(inputLine);
+            try (InputStream body = response.body()) {
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP error code: " + response.statusCode());
+                }
+                List<ArrayList<String>> courses = RecommendationDecoder.decodeBatch(body, catalog, MAX_COURSES);
+                if (courses.size() != interests.size()) {
+                    throw new IOException("Expected " + interests.size() + " results but got " + courses.size());
+                }
+
+                endpoint.recordSuccess((System.nanoTime() - start) / 1e6);
+                for (int i = 0; i < courses.size(); i++) {
+                    InterestCache.getInstance().put(interests.get(i), catalog.getVersion(), courses.get(i));
+                }
+                results.complete(courses);
+            } catch (IOException | RuntimeException e) {
+                // Every query of the batch waits on this future, so it must complete whatever went wrong
+                results.completeExceptionally(e);
             }
-            in.close();
+        }, HTTP_EXECUTOR);
+        return results;
+    }
 
-            return response.toString();
+    /**
+     * Sets the batcher interest queries are coalesced in.
+     *
+     * @param batcher The batcher, or null to send each query on its own.
+     */
+    public static void setBatcher(RecommendationBatcher batcher) {
+        APIClient.batcher = batcher;
+    }
 
-        } catch (java.net.SocketTimeoutException e) {
-            System.out.println("Connection timed out while fetching data from URL: " + apiUrl);
-            return null;
-        } catch (IOException e) {
-            System.out.println("IO Exception occurred while fetching data from URL: " + apiUrl + ", Error: " + e.getMessage());
-            return null;
-        } catch (Exception e) {
+    /**
+     * Retrieves the health of the primary API.
+     *
+     * @return The health of the primary API.
+     */
+    public static EndpointHealth getPrimaryHealth() {
+        return PRIMARY;
+    }
+
+    /**
+     * Retrieves the health of the backup API.
+     *
+     * @return The health of the backup API.
+     */
+    public static EndpointHealth getBackupHealth() {
+        return BACKUP;
+    }
+
+    /**
+     * Fetches data from a given URL using the GET method, with error handling and timeout management.
+     * The request is sent asynchronously on the shared client, so no thread waits for the response, and the
+     * course codes are decoded from the body as it streams in (see {@link RecommendationDecoder}).
+     *
+     * @param apiUrl    The URL to fetch data from.
+     * @param interests The interests parameter to be included in the request.
+     * @param catalog   The catalog the course codes are read against.
+     * @return A future completed with the course codes, or with null if the request fails or the response is not valid.
+     * Cancelling it cancels the request.
+     */
+    private static CompletableFuture<ArrayList<String>> fetchDataFromUrlClasses(String apiUrl, String interests, CourseCatalog catalog) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(apiUrl + "?interests=" + URLEncoder.encode(interests, StandardCharsets.UTF_8)))
+                    .timeout(Duration.ofMillis(READ_TIMEOUT))
+                    // Cleartext servers rarely support the HTTP/2 upgrade, HTTPS negotiates HTTP/2 on its own
+                    .version(apiUrl.startsWith("https:") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                    .GET()
+                    .build();
+        } catch (IllegalArgumentException e) {
             System.out.println("Exception occurred while fetching data from URL: " + apiUrl + ", Error: " + e.getMessage());
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
+
+        CompletableFuture<HttpResponse<InputStream>> sent = HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+        CompletableFuture<ArrayList<String>> courses = sent.handleAsync((response, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (cause instanceof CancellationException) {
+                    return null; // The other API answered first
+                } else if (cause instanceof HttpTimeoutException) {
+                    System.out.println("Connection timed out while fetching data from URL: " + apiUrl);
+                } else if (cause instanceof IOException) {
+                    System.out.println("IO Exception occurred while fetching data from URL: " + apiUrl + ", Error: " + cause);
+                } else {
+                    System.out.println("Exception occurred while fetching data from URL: " + apiUrl + ", Error: " + cause);
+                }
+                return null;
+            }
+
+            try (InputStream body = response.body()) {
+                // Check response code
+                if (response.statusCode() != 200) {
+                    System.out.println("Failed to fetch data from URL: " + apiUrl + ", HTTP error code: " + response.statusCode());
+                    return null;
+                }
+                return RecommendationDecoder.decode(body, catalog, MAX_COURSES);
+            } catch (IOException | RuntimeException e) {
+                // If no data from the API (can't parse the response)
+                System.out.println("No valid response from URL: " + apiUrl + ", Error: " + e.getMessage());
+                return null;
+            }
+        }, HTTP_EXECUTOR);
+
+        // Cancelling the decoded result cancels the request itself
+        courses.whenComplete((ignored, error) -> {
+            if (error instanceof CancellationException) {
+                sent.cancel(true);
+            }
+        });
+        return courses;
     }
 
     /**
      * A method to perform a POST request to an API endpoint.
-     * The URL is fetched from the CourseAssembly class credentials file.
+     * The URL is fetched from the CourseAssembly class credentials file. Nothing is sent if the file has no URL,
+     * so a missing deployment hook never stops the application from starting.
      */
     public static void runAPI() {
         String urlString = CourseAssembly.readCredentialsFromFile()[1];
+        if (urlString == null || urlString.isBlank()) {
+            System.out.println("No deployment URL in the credentials file, the backup API is not deployed.");
+            return;
+        }
         try {
-            URL url = new URL(urlString);
-            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-            connection.setRequestMethod("POST");
-
-            // Connect and send request
-            connection.connect();
-
-            // Close the connection after sending the request
-            connection.disconnect();
-
-        } catch (IOException e) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(urlString))
+                    .timeout(Duration.ofMillis(READ_TIMEOUT))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+
+            // Send the request without waiting for the deployment to answer
+            HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .exceptionally(error -> {
+                        error.printStackTrace();
+                        return null;
+                    });
+        } catch (IllegalArgumentException e) {
             e.printStackTrace();
         }
     }
@@ -0,0 +1,51 @@
+package org.example.utility.api;
+
+import org.example.utility.courses.CourseCatalog;
+import org.example.utility.courses.InterestMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A BatchEndpoint recommends courses for several interest queries in one call.
+ * It is what a {@link RecommendationBatcher} sends its coalesced queries to.
+ */
+@FunctionalInterface
+public interface BatchEndpoint {
+    /**
+     * Recommends courses for several interest queries.
+     *
+     * @param interests The interest queries.
+     * @return A future completed with the course codes of each query, in the same order as the queries,
+     * or completed exceptionally if the batch failed.
+     */
+    CompletableFuture<List<ArrayList<String>>> recommend(List<String> interests);
+
+    /**
+     * Sends the batch in one POST to the batch endpoint of the recommendation API.
+     *
+     * @return The HTTP batch endpoint.
+     * @see APIClient#postBatch(List)
+     */
+    static BatchEndpoint http() {
+        return APIClient::postBatch;
+    }
+
+    /**
+     * Answers the batch in process with the catalog's {@link InterestMatcher}, without the API.
+     * Used to run batches and try out the batching without a server.
+     *
+     * @return The local batch endpoint.
+     */
+    static BatchEndpoint local() {
+        return interests -> CompletableFuture.supplyAsync(() -> {
+            InterestMatcher matcher = CourseCatalog.getInstance().getInterestMatcher();
+            List<ArrayList<String>> results = new ArrayList<>(interests.size());
+            for (String query : interests) {
+                results.add(matcher.recommend(query));
+            }
+            return results;
+        });
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.utility.api;
+
+/**
+ * The EndpointHealth class tracks how one recommendation API endpoint has been answering, and holds its circuit breaker.
+ *
+ * <p>Every request records its outcome: the latency and the error rate are kept as exponentially weighted moving
+ * averages, so recent requests count the most. After {@link #FAILURE_THRESHOLD} failures in a row the circuit opens
+ * and the endpoint gets no more requests from assessments. Once the retry delay has passed, one probe request is let
+ * through (the circuit is half-open): if it succeeds the circuit closes again, otherwise it reopens and the retry
+ * delay doubles, up to {@link #MAX_RETRY_DELAY}.</p>
+ *
+ * <p>An endpoint served by a process the application runs itself can also be marked unavailable by the process's
+ * supervisor while it is starting or restarting (see {@link PythonAPI}), so requests skip it without first having to
+ * fail against it.</p>
+ */
+public class EndpointHealth {
+    /**
+     * The states of the circuit breaker.
+     */
+    public enum State {
+        /**
+         * The endpoint is healthy and gets requests.
+         */
+        CLOSED,
+
+        /**
+         * The endpoint is failing and gets no requests until it is probed.
+         */
+        OPEN,
+
+        /**
+         * A probe request is in flight, other requests still skip the endpoint.
+         */
+        HALF_OPEN
+    }
+
+    /**
+     * Number of failures in a row that open the circuit.
+     */
+    private static final int FAILURE_THRESHOLD = 3;
+
+    /**
+     * Weight of the newest request in the moving averages.
+     */
+    private static final double SMOOTHING = 0.2;
+
+    /**
+     * Time (in milliseconds) before the first probe of an endpoint whose circuit opened.
+     */
+    private static final long INITIAL_RETRY_DELAY = 5000;
+
+    /**
+     * Longest time (in milliseconds) between two probes of a failing endpoint.
+     */
+    private static final long MAX_RETRY_DELAY = 60000;
+
+    /**
+     * The URL of the endpoint.
+     */
+    private final String url;
+
+    private State state = State.CLOSED;
+    private double latency = Double.NaN;
+    private double errorRate;
+    private int consecutiveFailures;
+    private long retryDelay = INITIAL_RETRY_DELAY;
+    private boolean available = true;
+
+    /**
+     * Constructs the health of an endpoint that has not been called yet, with its circuit closed.
+     *
+     * @param url The URL of the endpoint.
+     */
+    public EndpointHealth(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Retrieves the URL of the endpoint.
+     *
+     * @return The URL.
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Checks whether assessments may send requests to the endpoint.
+     *
+     * @return True if the endpoint is available and its circuit is closed.
+     */
+    public synchronized boolean allowsRequests() {
+        return available && state == State.CLOSED;
+    }
+
+    /**
+     * Marks whether the process serving the endpoint is up, as its supervisor sees it.
+     * An endpoint found ready again starts afresh with its circuit closed, since the supervisor just checked that it
+     * answers; an unavailable endpoint gets no requests and no probes.
+     *
+     * @param available Whether the endpoint is ready for requests.
+     */
+    public synchronized void setAvailable(boolean available) {
+        this.available = available;
+        if (available) {
+            consecutiveFailures = 0;
+            retryDelay = INITIAL_RETRY_DELAY;
+            state = State.CLOSED;
+        }
+    }
+
+    /**
+     * Checks whether the process serving the endpoint is up, as its supervisor sees it.
+     *
+     * @return True unless the supervisor marked the endpoint unavailable.
+     */
+    public synchronized boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Lets one probe request through an open circuit.
+     *
+     * @return True if the circuit was open and is now half-open, so the caller should send the probe.
+     */
+    synchronized boolean startProbe() {
+        if (!available || state != State.OPEN) {
+            return false;
+        }
+        state = State.HALF_OPEN;
+        return true;
+    }
+
+    /**
+     * Records a request that succeeded, closing the circuit.
+     *
+     * @param latencyMillis The time the request took, in milliseconds.
+     */
+    public synchronized void recordSuccess(double latencyMillis) {
+        latency = Double.isNaN(latency) ? latencyMillis : latency + SMOOTHING * (latencyMillis - latency);
+        errorRate -= SMOOTHING * errorRate;
+        consecutiveFailures = 0;
+        retryDelay = INITIAL_RETRY_DELAY;
+        if (state != State.CLOSED) {
+            System.out.println("API endpoint is back: " + url);
+            state = State.CLOSED;
+        }
+    }
+
+    /**
+     * Records a request that failed. The circuit opens once enough requests failed in a row, and a failed probe
+     * reopens it.
+     *
+     * @return True if the circuit opened because of this failure, so the caller should schedule a probe.
+     */
+    public synchronized boolean recordFailure() {
+        errorRate += SMOOTHING * (1 - errorRate);
+        consecutiveFailures++;
+
+        if (state == State.HALF_OPEN) {
+            retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+            state = State.OPEN;
+            return true;
+        }
+        if (state == State.CLOSED && consecutiveFailures >= FAILURE_THRESHOLD) {
+            System.out.println("API endpoint is failing, circuit opened: " + url);
+            state = State.OPEN;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the state of the circuit.
+     *
+     * @return The circuit state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the moving average of the latency of successful requests.
+     *
+     * @return The latency in milliseconds, or NaN if no request succeeded yet.
+     */
+    public synchronized double getLatency() {
+        return latency;
+    }
+
+    /**
+     * Retrieves the moving average of the share of requests that failed.
+     *
+     * @return The error rate, between 0 and 1.
+     */
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    /**
+     * Retrieves the time to wait before probing the endpoint while its circuit is open.
+     *
+     * @return The retry delay in milliseconds.
+     */
+    public synchronized long getRetryDelay() {
+        return retryDelay;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s [%s%s, latency %.0f ms, error rate %.0f%%]", url, state, available ? "" : ", unavailable", latency, errorRate * 100);
+    }
+}
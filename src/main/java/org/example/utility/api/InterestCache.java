@@ -0,0 +1,325 @@
+package org.example.utility.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.people.UserInput;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The InterestCache class keeps the courses the recommendation API returned for recent interests, so the same
+ * interests are only sent to the API once in a while, even across restarts.
+ *
+ * <p>The cache has two levels: the most recently used answers are kept in memory, and every answer is also written
+ * to its own file in {@link #CACHE_DIRECTORY}, which is read when the memory misses. Interests are normalized before
+ * they are used as a key, so answers that only differ in case or spacing share an entry.</p>
+ *
+ * <p>An entry is fresh for {@link #TTL} milliseconds after the API answered and only for the catalog version it was
+ * stored with. A stale entry of the current catalog can still be used when no API can be reached.</p>
+ */
+public class InterestCache {
+    /**
+     * The directory the answers are written to, one file per normalized interests.
+     */
+    protected static final String CACHE_DIRECTORY = "src/main/resources/api_cache";
+
+    /**
+     * Time (in milliseconds) an answer stays fresh. Set with the {@code api.cacheTtl} system property.
+     */
+    private static final long TTL = Long.getLong("api.cacheTtl", 24L * 60 * 60 * 1000);
+
+    /**
+     * Maximum number of answers kept in memory.
+     */
+    private static final int MEMORY_ENTRIES = 1024;
+
+    /**
+     * The cache shared by the whole application.
+     */
+    private static final InterestCache instance = new InterestCache(new File(CACHE_DIRECTORY));
+
+    /**
+     * Mapper reading and writing the entry files.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Thread writing entries to disk, so storing an answer never waits on the file system.
+     */
+    private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The directory the entries are written to.
+     */
+    private final File directory;
+
+    /**
+     * The entries kept in memory, in access order, least recently used first.
+     */
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MEMORY_ENTRIES;
+        }
+    };
+
+    /**
+     * A cached answer of the API, as written to disk.
+     */
+    public static class Entry {
+        private String interests;
+        private long catalogVersion;
+        private long createdAt;
+        private List<String> courses;
+
+        /**
+         * Constructs an empty entry, used when reading an entry file.
+         */
+        public Entry() {
+        }
+
+        /**
+         * Constructs an entry.
+         *
+         * @param interests      The normalized interests.
+         * @param catalogVersion The version of the catalog the answer was read against.
+         * @param createdAt      The time (from {@link System#currentTimeMillis()}) the API answered.
+         * @param courses        The course codes the API returned.
+         */
+        private Entry(String interests, long catalogVersion, long createdAt, List<String> courses) {
+            this.interests = interests;
+            this.catalogVersion = catalogVersion;
+            this.createdAt = createdAt;
+            this.courses = courses;
+        }
+
+        /**
+         * Retrieves the normalized interests the answer is for.
+         *
+         * @return The normalized interests.
+         */
+        public String getInterests() {
+            return interests;
+        }
+
+        /**
+         * Sets the normalized interests the answer is for.
+         *
+         * @param interests The normalized interests.
+         */
+        public void setInterests(String interests) {
+            this.interests = interests;
+        }
+
+        /**
+         * Retrieves the version of the catalog the answer was read against.
+         *
+         * @return The catalog version.
+         */
+        public long getCatalogVersion() {
+            return catalogVersion;
+        }
+
+        /**
+         * Sets the version of the catalog the answer was read against.
+         *
+         * @param catalogVersion The catalog version.
+         */
+        public void setCatalogVersion(long catalogVersion) {
+            this.catalogVersion = catalogVersion;
+        }
+
+        /**
+         * Retrieves the time the API answered.
+         *
+         * @return The time in milliseconds, from {@link System#currentTimeMillis()}.
+         */
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        /**
+         * Sets the time the API answered.
+         *
+         * @param createdAt The time in milliseconds, from {@link System#currentTimeMillis()}.
+         */
+        public void setCreatedAt(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        /**
+         * Retrieves the course codes the API returned.
+         *
+         * @return The course codes.
+         */
+        public List<String> getCourses() {
+            return courses;
+        }
+
+        /**
+         * Sets the course codes the API returned.
+         *
+         * @param courses The course codes.
+         */
+        public void setCourses(List<String> courses) {
+            this.courses = courses;
+        }
+    }
+
+    /**
+     * Constructs a cache writing its entries to the given directory.
+     *
+     * @param directory The directory the entries are written to.
+     */
+    public InterestCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Retrieves the cache shared by the whole application.
+     *
+     * @return The shared cache.
+     */
+    public static InterestCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Looks up the fresh answer for some interests.
+     *
+     * @param interests      The interests of the user.
+     * @param catalogVersion The version of the catalog in use.
+     * @return A copy of the cached course codes, or null if there is no fresh answer for the interests.
+     */
+    public ArrayList<String> get(String interests, long catalogVersion) {
+        Entry entry = find(UserInput.normalizeInterests(interests), catalogVersion);
+        if (entry == null || System.currentTimeMillis() - entry.getCreatedAt() > TTL) {
+            return null;
+        }
+        return new ArrayList<>(entry.getCourses());
+    }
+
+    /**
+     * Looks up the answer for some interests, even if it is past its time to live.
+     * Used when no API can be reached, since an old answer is better than none.
+     *
+     * @param interests      The interests of the user.
+     * @param catalogVersion The version of the catalog in use.
+     * @return A copy of the cached course codes, or null if there is no answer for the interests.
+     */
+    public ArrayList<String> getStale(String interests, long catalogVersion) {
+        Entry entry = find(UserInput.normalizeInterests(interests), catalogVersion);
+        return entry == null ? null : new ArrayList<>(entry.getCourses());
+    }
+
+    /**
+     * Stores the answer of the API for some interests, in memory right away and on disk in the background.
+     *
+     * @param interests      The interests of the user.
+     * @param catalogVersion The version of the catalog in use.
+     * @param courses        The course codes the API returned.
+     */
+    public void put(String interests, long catalogVersion, List<String> courses) {
+        String key = UserInput.normalizeInterests(interests);
+        Entry entry = new Entry(key, catalogVersion, System.currentTimeMillis(), List.copyOf(courses));
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        WRITER.execute(() -> write(entry));
+    }
+
+    /**
+     * Finds the entry of normalized interests in memory, then on disk.
+     *
+     * @param key            The normalized interests.
+     * @param catalogVersion The version of the catalog in use.
+     * @return The entry, or null if there is none for this catalog version.
+     */
+    private Entry find(String key, long catalogVersion) {
+        Entry entry;
+        synchronized (memory) {
+            entry = memory.get(key);
+        }
+        if (entry == null) {
+            entry = read(key);
+            if (entry != null) {
+                synchronized (memory) {
+                    memory.putIfAbsent(key, entry);
+                }
+            }
+        }
+        return entry != null && entry.getCatalogVersion() == catalogVersion ? entry : null;
+    }
+
+    /**
+     * Reads the entry file of normalized interests.
+     *
+     * @param key The normalized interests.
+     * @return The entry, or null if there is no file or it cannot be read.
+     */
+    private Entry read(String key) {
+        File file = fileOf(key);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            Entry entry = MAPPER.readValue(file, Entry.class);
+            // Two interests could share a file name, the file only counts for the interests it was written for
+            return key.equals(entry.getInterests()) && entry.getCourses() != null ? entry : null;
+        } catch (IOException e) {
+            System.err.println("Could not read cached API answer: " + file + ", Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes an entry to its file, replacing the file in one step so readers never see half an entry.
+     *
+     * @param entry The entry to write.
+     */
+    private void write(Entry entry) {
+        File file = fileOf(entry.getInterests());
+        try {
+            Files.createDirectories(directory.toPath());
+            File temporary = new File(directory, file.getName() + ".tmp");
+            MAPPER.writeValue(temporary, entry);
+            Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write cached API answer: " + file + ", Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the file of normalized interests, named after their SHA-256 hash so any interests make a valid file name.
+     *
+     * @param key The normalized interests.
+     * @return The entry file.
+     */
+    private File fileOf(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < 16; i++) {
+                name.append(String.format("%02x", hash[i]));
+            }
+            return new File(directory, name.append(".json").toString());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
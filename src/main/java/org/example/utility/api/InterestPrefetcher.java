@@ -0,0 +1,155 @@
+package org.example.utility.api;
+
+import org.example.people.UserInput;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The InterestPrefetcher class looks up the courses recommended for a student's interests while the quiz is still
+ * in progress, so the API round trip is usually over by the time the student submits the quiz.
+ *
+ * <p>A lookup is scheduled every time an interest answer is committed and both answers are known. Students often
+ * move back and forth between questions, so the lookup only starts once the answers have stayed the same for
+ * {@link #DEBOUNCE_DELAY} milliseconds; a newer answer cancels the pending lookup. The pending lookup is stored on the
+ * {@link UserInput} and consumed by the assessment through {@link #take(UserInput)}.</p>
+ */
+public class InterestPrefetcher {
+    /**
+     * Time (in milliseconds) the answers must stay the same before the lookup starts.
+     */
+    private static final long DEBOUNCE_DELAY = 750;
+
+    /**
+     * Thread starting lookups once their debounce delay has passed.
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interest-prefetch-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * A lookup that waits for its debounce delay before calling the API, and can be started early when it is needed.
+     */
+    private static final class PendingLookup extends CompletableFuture<ArrayList<String>> {
+        private final String interests;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private volatile ScheduledFuture<?> timer;
+
+        private PendingLookup(String interests) {
+            this.interests = interests;
+        }
+
+        /**
+         * Starts the API call, unless it was already started or the lookup was cancelled.
+         */
+        private void start() {
+            if (isDone() || !started.compareAndSet(false, true)) {
+                return;
+            }
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            APIClient.getAPIDataClassesAsync(interests).whenComplete((courses, error) -> {
+                if (error != null) {
+                    completeExceptionally(error);
+                } else {
+                    complete(courses);
+                }
+            });
+        }
+
+        /**
+         * Cancels the lookup. An API call that already started runs to the end, but its result is dropped.
+         */
+        private void discard() {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            cancel(false);
+        }
+    }
+
+    /**
+     * Schedules a lookup of the courses recommended for the student's current interests.
+     * Nothing is scheduled until both interest answers are known, or if a lookup for the same answers is already pending.
+     *
+     * @param student The student whose interests were just committed.
+     */
+    public static void schedule(UserInput student) {
+        String interest1 = student.getInterest1();
+        String interest2 = student.getInterest2();
+        if (interest1 == null || interest1.isBlank() || interest2 == null || interest2.isBlank()) {
+            return;
+        }
+
+        String interests = student.getInterests();
+        synchronized (student) {
+            CompletableFuture<ArrayList<String>> pending = student.getPrefetchedCourses();
+            if (pending != null && interests.equals(student.getPrefetchedInterests()) && !pending.isCompletedExceptionally()) {
+                return;
+            }
+            if (pending instanceof PendingLookup lookup) {
+                lookup.discard();
+            }
+
+            PendingLookup lookup = new PendingLookup(interests);
+            lookup.timer = SCHEDULER.schedule(lookup::start, DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+            student.setPrefetchedCourses(interests, lookup);
+        }
+    }
+
+    /**
+     * Drops the lookup scheduled for the student, when the assessment does not need the API after all.
+     * A lookup still waiting for its debounce delay never calls the API.
+     *
+     * @param student The student being assessed.
+     */
+    public static void discard(UserInput student) {
+        CompletableFuture<ArrayList<String>> pending;
+        synchronized (student) {
+            pending = student.getPrefetchedCourses();
+            student.setPrefetchedCourses(null, null);
+        }
+        if (pending instanceof PendingLookup lookup) {
+            lookup.discard();
+        }
+    }
+
+    /**
+     * Takes the lookup started for the student's current interests, starting it right away if it is still waiting.
+     * A lookup started for answers the student has since changed is cancelled.
+     *
+     * @param student The student being assessed.
+     * @return The pending lookup, or null if there is none for the student's current interests.
+     */
+    public static CompletableFuture<ArrayList<String>> take(UserInput student) {
+        CompletableFuture<ArrayList<String>> pending;
+        String interests;
+        synchronized (student) {
+            pending = student.getPrefetchedCourses();
+            interests = student.getPrefetchedInterests();
+            student.setPrefetchedCourses(null, null);
+        }
+        if (pending == null) {
+            return null;
+        }
+
+        if (!student.getInterests().equals(interests) || pending.isCancelled() || pending.isCompletedExceptionally()) {
+            if (pending instanceof PendingLookup lookup) {
+                lookup.discard();
+            }
+            return null;
+        }
+        if (pending instanceof PendingLookup lookup) {
+            lookup.start();
+        }
+        return pending;
+    }
+}
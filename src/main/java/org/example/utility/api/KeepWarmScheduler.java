@@ -0,0 +1,243 @@
+package org.example.utility.api;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The KeepWarmScheduler class pings the backup API now and then while the application is in use, so the hosted
+ * server is not put to sleep and the first recommendation after a quiet spell does not wait for it to cold-start.
+ *
+ * <p>The time between two pings adapts to the server. A ping that takes longer than {@link #COLD_START_THRESHOLD}
+ * milliseconds found the server asleep, which means the interval is longer than the time the host keeps it awake:
+ * the interval is halved. Every ping that finds it awake stretches the interval a little, so the scheduler settles
+ * just below the host's idle timeout and sends as few pings as it can.</p>
+ *
+ * <p>Once no recommendation has been asked for in {@link #IDLE_TIMEOUT} milliseconds, the pings stop and the server
+ * is left to sleep. They start again with the next recommendation (see {@link #touch()}).</p>
+ *
+ * <p>The primary API runs locally and never sleeps, so it is not pinged. The scheduler can be turned off with the
+ * {@code api.keepWarm} system property.</p>
+ */
+public class KeepWarmScheduler {
+    /**
+     * Whether the scheduler runs at all. Set with the {@code api.keepWarm} system property.
+     */
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("api.keepWarm", "true"));
+
+    /**
+     * Time (in milliseconds) between the first pings, before it adapts.
+     * Set with the {@code api.keepWarmInterval} system property.
+     */
+    private static final long INITIAL_INTERVAL = Math.max(1, Long.getLong("api.keepWarmInterval", 5 * 60 * 1000));
+
+    /**
+     * Shortest time (in milliseconds) between two pings.
+     */
+    private static final long MIN_INTERVAL = Math.min(60 * 1000, INITIAL_INTERVAL);
+
+    /**
+     * Longest time (in milliseconds) between two pings, just under the 15 minutes free hosts commonly keep a server awake.
+     */
+    private static final long MAX_INTERVAL = 14 * 60 * 1000;
+
+    /**
+     * Factor the interval is stretched by after each ping that found the server awake.
+     */
+    private static final double GROWTH = 1.25;
+
+    /**
+     * Time (in milliseconds) above which a ping is taken to have woken the server up.
+     */
+    private static final long COLD_START_THRESHOLD = 3000;
+
+    /**
+     * Time (in milliseconds) a ping gets to answer, long enough for a full cold start.
+     */
+    private static final long PING_TIMEOUT = 60000;
+
+    /**
+     * Time (in milliseconds) without recommendations after which the pings stop.
+     * Set with the {@code api.keepWarmIdle} system property.
+     */
+    private static final long IDLE_TIMEOUT = Long.getLong("api.keepWarmIdle", 30 * 60 * 1000);
+
+    /**
+     * Thread sending the pings.
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-keep-warm");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Whether the scheduler was started and not stopped.
+     */
+    private static boolean started;
+
+    /**
+     * Counts the starts, so a ping still in flight when the scheduler is restarted does not schedule another.
+     */
+    private static int generation;
+
+    /**
+     * The next ping, or null if the pings are paused or stopped.
+     */
+    private static ScheduledFuture<?> nextPing;
+
+    /**
+     * Whether the pings are paused because the application is idle. Read without the lock on every recommendation.
+     */
+    private static volatile boolean idle;
+
+    /**
+     * The time (from {@link System#currentTimeMillis()}) of the last recommendation.
+     */
+    private static volatile long lastActivity;
+
+    /**
+     * The current time between two pings.
+     */
+    private static long interval = INITIAL_INTERVAL;
+
+    // Statistics
+    private static int pings;
+    private static int coldStarts;
+
+    /**
+     * Starts pinging the backup API, right away and then on the adaptive interval.
+     * Calling this method while the scheduler is already running has no effect.
+     */
+    public static synchronized void start() {
+        if (started || !ENABLED) {
+            return;
+        }
+        started = true;
+        generation++;
+        idle = false;
+        lastActivity = System.currentTimeMillis();
+        schedule(0);
+    }
+
+    /**
+     * Stops pinging the backup API.
+     */
+    public static synchronized void stop() {
+        started = false;
+        idle = false;
+        if (nextPing != null) {
+            nextPing.cancel(false);
+            nextPing = null;
+        }
+    }
+
+    /**
+     * Records that a recommendation was asked for, resuming the pings if they were paused for being idle.
+     */
+    public static void touch() {
+        lastActivity = System.currentTimeMillis();
+        if (idle) {
+            resume();
+        }
+    }
+
+    /**
+     * Resumes the pings after an idle spell. The server has likely gone to sleep, so it is pinged right away.
+     */
+    private static synchronized void resume() {
+        if (started && idle) {
+            idle = false;
+            System.out.println("Recommendations resumed, keeping the backup API warm again.");
+            schedule(0);
+        }
+    }
+
+    /**
+     * Schedules the next ping. Must be called holding the lock.
+     *
+     * @param delay Time (in milliseconds) before the ping.
+     */
+    private static void schedule(long delay) {
+        nextPing = SCHEDULER.schedule(KeepWarmScheduler::ping, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pings the backup API, or pauses if the application has been idle for too long.
+     */
+    private static void ping() {
+        int current;
+        synchronized (KeepWarmScheduler.class) {
+            if (!started) {
+                return;
+            }
+            current = generation;
+            if (System.currentTimeMillis() - lastActivity >= IDLE_TIMEOUT) {
+                System.out.println("No recommendations for " + IDLE_TIMEOUT / 1000 + " s, letting the backup API sleep.");
+                idle = true;
+                nextPing = null;
+                return;
+            }
+        }
+
+        EndpointHealth endpoint = APIClient.getBackupHealth();
+        long start = System.nanoTime();
+        APIClient.ping(endpoint.getUrl(), PING_TIMEOUT).whenComplete((status, error) -> {
+            long latency = (System.nanoTime() - start) / 1000000;
+            synchronized (KeepWarmScheduler.class) {
+                if (!started || generation != current) {
+                    return;
+                }
+                pings++;
+                if (error != null) {
+                    // An unreachable server is down rather than asleep, which is the circuit breaker's business
+                    System.out.println("Could not ping the backup API: " + error.getMessage());
+                } else if (latency > COLD_START_THRESHOLD) {
+                    coldStarts++;
+                    interval = Math.max(MIN_INTERVAL, interval / 2);
+                    System.out.println("Backup API took " + latency + " ms to wake up, pinging it every " + interval / 1000 + " s.");
+                } else {
+                    interval = Math.min(MAX_INTERVAL, (long) (interval * GROWTH));
+                }
+                schedule(interval);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the current time between two pings.
+     *
+     * @return The interval in milliseconds.
+     */
+    public static synchronized long getInterval() {
+        return interval;
+    }
+
+    /**
+     * Retrieves the number of pings sent.
+     *
+     * @return The number of pings.
+     */
+    public static synchronized int getPingCount() {
+        return pings;
+    }
+
+    /**
+     * Retrieves the number of pings that found the backup API asleep.
+     *
+     * @return The number of cold starts.
+     */
+    public static synchronized int getColdStartCount() {
+        return coldStarts;
+    }
+
+    /**
+     * Checks whether the pings are paused because no recommendation was asked for in a while.
+     *
+     * @return True if the scheduler is idle.
+     */
+    public static boolean isIdle() {
+        return idle;
+    }
+}
@@ -1,6 +1,13 @@
 package org.example.utility.api;
 
+import java.io.BufferedReader;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The {@code PythonAPI} class implements the {@code Deployment} interface and provides
@@ -9,37 +16,295 @@ import java.io.IOException;
  * <p>This class is responsible for invoking a Python script located on the system and
  * managing the process. It ensures that the script is started and terminated correctly,
  * even if the Java application ends unexpectedly.</p>
+ *
+ * <p>The process is supervised for as long as the application runs:</p>
+ * <ul>
+ *     <li>Its output is read on a background thread and copied to the log, so the process never blocks on a full pipe.</li>
+ *     <li>After each start, the primary API is polled until it answers. Until then its {@link EndpointHealth} is
+ *     marked unavailable, so assessments go straight to the backup API instead of waiting on a server that is not
+ *     listening yet.</li>
+ *     <li>If the process exits, or does not answer within {@link #READY_TIMEOUT} milliseconds, it is restarted after a
+ *     delay that doubles with every failed start, up to {@link #MAX_RESTART_DELAY}.</li>
+ *     <li>If the process cannot be started at all (no Python, no script), the primary API is not marked unavailable:
+ *     it is still called and tracked by its circuit breaker, in case it is served by a process started by hand.</li>
+ * </ul>
+ *
+ * <p>The command and the directory of the script are set with the {@code python.command} and
+ * {@code python.directory} system properties.</p>
  */
 public class PythonAPI implements Deployment {
+    /**
+     * The states of the supervised process.
+     */
+    public enum State {
+        /**
+         * The process is not running and will not be started.
+         */
+        STOPPED,
+
+        /**
+         * The process is running but the API does not answer yet.
+         */
+        STARTING,
+
+        /**
+         * The API answers requests.
+         */
+        READY,
+
+        /**
+         * The process exited or never answered, and is waiting to be restarted.
+         */
+        RESTARTING
+    }
+
+    /**
+     * Command running the Python interpreter.
+     */
+    private static final String COMMAND = System.getProperty("python.command", "python");
+
+    /**
+     * The directory where the Python script is located.
+     */
+    private static final String DIRECTORY = System.getProperty("python.directory", "C:\\Users\\fence\\Desktop\\APICourseSummative\\CoursesSummative");
+
+    /**
+     * The script serving the API.
+     */
+    private static final String SCRIPT = "main.py";
+
+    /**
+     * Time (in milliseconds) between two readiness checks of a starting API.
+     */
+    private static final long READY_POLL_INTERVAL = 250;
+
+    /**
+     * Time (in milliseconds) a started process gets to answer before it is restarted.
+     */
+    private static final long READY_TIMEOUT = 60000;
+
+    /**
+     * Delay (in milliseconds) before the first restart of a process.
+     */
+    private static final long INITIAL_RESTART_DELAY = 1000;
+
+    /**
+     * Longest delay (in milliseconds) between two restarts.
+     */
+    private static final long MAX_RESTART_DELAY = 60000;
+
+    /**
+     * Time (in milliseconds) a process must have been ready for its exit not to count as a failed start.
+     */
+    private static final long STABLE_TIME = 60000;
+
+    /**
+     * The supervisor of the Python API, shared by the whole application.
+     */
+    private static final PythonAPI instance = new PythonAPI();
+
+    /**
+     * Thread polling the readiness of the API and scheduling the restarts.
+     */
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "python-api-supervisor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The health of the API the process serves, marked unavailable while the API is not ready.
+     */
+    private final EndpointHealth endpoint = APIClient.getPrimaryHealth();
+
+    private State state = State.STOPPED;
+    private Process process;
+    private long restartDelay = INITIAL_RESTART_DELAY;
+    private long readySince;
+    private int restarts;
+    private boolean shutdownHookAdded;
 
     /**
-     * Runs the Python script using the ProcessBuilder.
+     * Retrieves the supervisor of the Python API.
+     *
+     * @return The supervisor.
+     */
+    public static PythonAPI getInstance() {
+        return instance;
+    }
+
+    /**
+     * Runs the Python script under supervision.
      * <p>
      * This method starts a Python script located at a specified path. The Python
      * script is executed as an external process, and a shutdown hook is added to ensure
      * that the process is terminated when the Java application is stopped or exits.
+     * It returns right away, the API is marked ready once it answers.
      * </p>
      *
      */
     public static void runAPI() {
-        // Used https://www.baeldung.com/java-lang-processbuilder-api to run py script
+        instance.start();
+    }
+
+    /**
+     * Starts the process, unless it is already supervised.
+     */
+    public synchronized void start() {
+        if (state != State.STOPPED) {
+            return;
+        }
+        if (!shutdownHookAdded) {
+            // Add a shutdown hook to terminate the Python script when the Java application ends
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
+            shutdownHookAdded = true;
+        }
+        launch();
+    }
+
+    /**
+     * Stops the process and its supervision.
+     */
+    public synchronized void stop() {
+        state = State.STOPPED;
+        if (process != null) {
+            process.destroy(); // Terminate the Python process
+            process = null;
+        }
+    }
+
+    /**
+     * Starts the process and begins polling the API. Must be called holding the lock.
+     */
+    private void launch() {
         try {
-            // Specify the command to run the Python script
-            ProcessBuilder processBuilder = new ProcessBuilder("python", "main.py"); // location of the script
+            // Used https://www.baeldung.com/java-lang-processbuilder-api to run py script
+            ProcessBuilder processBuilder = new ProcessBuilder(COMMAND, SCRIPT);
+            processBuilder.directory(new File(DIRECTORY));
+            processBuilder.redirectErrorStream(true); // One stream to drain, uvicorn logs to stderr
 
-            // Set the directory where the Python script is located
-            processBuilder.directory(new java.io.File("C:\\Users\\fence\\Desktop\\APICourseSummative\\CoursesSummative"));
+            Process started = processBuilder.start();
+            endpoint.setAvailable(false); // Until it answers, requests go straight to the backup
+            process = started;
+            state = State.STARTING;
+            System.out.println("Started the Python API, waiting for it to answer: " + endpoint.getUrl());
 
-            // Start the Python script as an external process
-            Process process = processBuilder.start();
+            drain(started);
+            started.onExit().thenAccept(this::exited);
+            long deadline = System.currentTimeMillis() + READY_TIMEOUT;
+            SCHEDULER.execute(() -> pollReadiness(started, deadline));
+        } catch (IOException | RuntimeException e) {
+            // Without a process to wait for, the API may still be served by a main.py or stub started by hand,
+            // so the endpoint is left to its circuit breaker like any other API
+            System.err.println("Could not start the Python API: " + e.getMessage());
+            if (!endpoint.isAvailable()) {
+                endpoint.setAvailable(true); // Left as is otherwise, so each retry does not reset an open circuit
+            }
+            scheduleRestart();
+        }
+    }
 
-            // Add a shutdown hook to terminate the Python script when the Java application ends
-            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                process.destroy(); // Terminate the Python process
-            }));
-        } catch (IOException e) {
-            // Print any errors encountered while starting the Python process
-            e.printStackTrace();
+    /**
+     * Copies the output of the process to the log, line by line, until the process closes it.
+     *
+     * @param started The process.
+     */
+    private static void drain(Process started) {
+        Thread thread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(started.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    System.out.println("[main.py] " + line);
+                }
+            } catch (IOException e) {
+                // The stream closes when the process is destroyed
+            }
+        }, "python-api-output");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Checks once whether the API answers, and checks again later if it does not.
+     * Any HTTP answer counts, since even an error status means the server is listening.
+     *
+     * @param started  The process being waited for.
+     * @param deadline The time (from {@link System#currentTimeMillis()}) by which the API must answer.
+     */
+    private void pollReadiness(Process started, long deadline) {
+        APIClient.ping(endpoint.getUrl(), READY_POLL_INTERVAL * 4).whenComplete((status, error) -> {
+            synchronized (this) {
+                if (process != started || state != State.STARTING) {
+                    return; // The process exited or was stopped meanwhile
+                }
+                if (error == null && status < 500) {
+                    state = State.READY;
+                    readySince = System.currentTimeMillis();
+                    endpoint.setAvailable(true);
+                    System.out.println("Python API is ready: " + endpoint.getUrl());
+                } else if (System.currentTimeMillis() >= deadline) {
+                    System.err.println("Python API did not answer within " + READY_TIMEOUT + " ms, restarting it.");
+                    started.destroy(); // Restarted once it has exited
+                } else {
+                    SCHEDULER.schedule(() -> pollReadiness(started, deadline), READY_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+                }
+            }
+        });
+    }
+
+    /**
+     * Handles the exit of a process, restarting it unless the supervision was stopped.
+     *
+     * @param exited The process that exited.
+     */
+    private synchronized void exited(Process exited) {
+        if (process != exited || state == State.STOPPED) {
+            return;
+        }
+        endpoint.setAvailable(false);
+        process = null;
+        System.err.println("Python API exited with code " + exited.exitValue() + ".");
+
+        // A process that ran fine for a while is restarted quickly, a crash loop backs off
+        if (state == State.READY && System.currentTimeMillis() - readySince >= STABLE_TIME) {
+            restartDelay = INITIAL_RESTART_DELAY;
         }
+        scheduleRestart();
+    }
+
+    /**
+     * Schedules the next start of the process, doubling the delay of the one after. Must be called holding the lock.
+     */
+    private void scheduleRestart() {
+        state = State.RESTARTING;
+        long delay = restartDelay;
+        restartDelay = Math.min(restartDelay * 2, MAX_RESTART_DELAY);
+        System.out.println("Restarting the Python API in " + delay + " ms.");
+        SCHEDULER.schedule(() -> {
+            synchronized (this) {
+                if (state == State.RESTARTING) {
+                    restarts++;
+                    launch();
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Retrieves the state of the supervised process.
+     *
+     * @return The state.
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the number of times the process was restarted.
+     *
+     * @return The number of restarts.
+     */
+    public synchronized int getRestartCount() {
+        return restarts;
     }
-}
\ No newline at end of file
+}
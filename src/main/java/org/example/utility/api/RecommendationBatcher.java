@@ -0,0 +1,212 @@
+package org.example.utility.api;
+
+import org.example.people.UserInput;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The RecommendationBatcher class coalesces the interest queries of assessments running at the same time into
+ * batches, so hundreds of students cost a handful of API calls instead of one call each.
+ *
+ * <p>The first query of a batch opens a window of {@link #window} milliseconds. Every query submitted during the
+ * window joins the batch, and identical queries (after normalization) share one slot. The batch is sent to the
+ * {@link BatchEndpoint} when the window closes, or right away once it holds {@link #maxBatchSize} queries. The
+ * results are then fanned back out to the waiting futures.</p>
+ *
+ * <p>If the batch fails, every query of the batch completes with null, and the caller looks the interests up on its
+ * own (see {@link APIClient#getAPIDataClassesAsync(String)}).</p>
+ */
+public class RecommendationBatcher {
+    /**
+     * Default time (in milliseconds) a batch waits for more queries.
+     */
+    public static final long DEFAULT_WINDOW = 20;
+
+    /**
+     * Default maximum number of distinct queries in a batch.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 64;
+
+    /**
+     * Thread closing the batch windows.
+     */
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "api-batcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The endpoint the batches are sent to.
+     */
+    private final BatchEndpoint endpoint;
+
+    /**
+     * Time (in milliseconds) a batch waits for more queries.
+     */
+    private final long window;
+
+    /**
+     * Maximum number of distinct queries in a batch.
+     */
+    private final int maxBatchSize;
+
+    /**
+     * The queries of the open batch, keyed by normalized interests.
+     */
+    private LinkedHashMap<String, CompletableFuture<ArrayList<String>>> pending = new LinkedHashMap<>();
+
+    /**
+     * The task closing the window of the open batch, or null if no batch is open.
+     */
+    private ScheduledFuture<?> windowTimer;
+
+    // Statistics
+    private final AtomicLong queries = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    /**
+     * Constructs a batcher with the default window and batch size.
+     *
+     * @param endpoint The endpoint the batches are sent to.
+     */
+    public RecommendationBatcher(BatchEndpoint endpoint) {
+        this(endpoint, DEFAULT_WINDOW, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Constructs a batcher.
+     *
+     * @param endpoint     The endpoint the batches are sent to.
+     * @param window       Time (in milliseconds) a batch waits for more queries.
+     * @param maxBatchSize Maximum number of distinct queries in a batch.
+     */
+    public RecommendationBatcher(BatchEndpoint endpoint, long window, int maxBatchSize) {
+        this.endpoint = endpoint;
+        this.window = window;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Adds an interest query to the open batch, opening one if needed.
+     *
+     * @param interests The interests of the user.
+     * @return A future completed with the course codes recommended for the interests, or with null if the batch failed.
+     */
+    public CompletableFuture<ArrayList<String>> submit(String interests) {
+        String key = UserInput.normalizeInterests(interests);
+        queries.incrementAndGet();
+
+        CompletableFuture<ArrayList<String>> query;
+        Map<String, CompletableFuture<ArrayList<String>>> full = null;
+        synchronized (this) {
+            query = pending.computeIfAbsent(key, ignored -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = takeBatch();
+            } else if (windowTimer == null) {
+                windowTimer = TIMER.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+
+        // Every caller gets its own list, even when the query is shared
+        return query.thenApply(courses -> courses == null ? null : new ArrayList<>(courses));
+    }
+
+    /**
+     * Sends the open batch right away.
+     */
+    public void flush() {
+        Map<String, CompletableFuture<ArrayList<String>>> batch;
+        synchronized (this) {
+            batch = takeBatch();
+        }
+        send(batch);
+    }
+
+    /**
+     * Takes the queries of the open batch and closes it. Must be called holding the lock.
+     *
+     * @return The queries of the batch.
+     */
+    private Map<String, CompletableFuture<ArrayList<String>>> takeBatch() {
+        Map<String, CompletableFuture<ArrayList<String>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+            windowTimer = null;
+        }
+        return batch;
+    }
+
+    /**
+     * Sends a batch to the endpoint and fans the results out to the queries.
+     *
+     * @param batch The queries of the batch, keyed by normalized interests.
+     */
+    private void send(Map<String, CompletableFuture<ArrayList<String>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batches.incrementAndGet();
+
+        List<String> interests = new ArrayList<>(batch.keySet());
+        CompletableFuture<List<ArrayList<String>>> results;
+        try {
+            results = endpoint.recommend(interests);
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+
+        results.whenComplete((courses, error) -> {
+            if (error != null || courses == null || courses.size() != interests.size()) {
+                System.out.println("Batch of " + interests.size() + " interest queries failed"
+                        + (error != null ? ": " + error : ""));
+                batch.values().forEach(query -> query.complete(null));
+                return;
+            }
+            int i = 0;
+            for (CompletableFuture<ArrayList<String>> query : batch.values()) {
+                query.complete(courses.get(i++));
+            }
+        });
+    }
+
+    /**
+     * Retrieves the largest number of distinct queries sent in one batch.
+     *
+     * @return The maximum batch size.
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Retrieves the number of queries submitted.
+     *
+     * @return The number of queries.
+     */
+    public long getQueryCount() {
+        return queries.get();
+    }
+
+    /**
+     * Retrieves the number of batches sent.
+     *
+     * @return The number of batches.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.utility.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.example.utility.courses.CourseCatalog;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The RecommendationDecoder class reads the course codes out of a recommendation API response as it streams in.
+ *
+ * <p>The response is a JSON array of course objects. Instead of reading the whole body into a string and building a
+ * DOM of it, the decoder walks the tokens with a Jackson {@link JsonParser}, skips every field but "Course Code",
+ * and resolves each code against the catalog right away: unknown and repeated codes are dropped, and the catalog's
+ * own code strings are returned. Reading stops as soon as the requested number of courses is found, so the rest of
+ * a large response is never parsed.</p>
+ */
+public class RecommendationDecoder {
+    /**
+     * Name of the field holding the course code in each course object.
+     */
+    private static final String COURSE_CODE_FIELD = "Course Code";
+
+    /**
+     * Factory of the streaming parsers, thread-safe and shared.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * Decodes the course codes of a response.
+     *
+     * @param body    The response body, closed once the courses are read.
+     * @param catalog The catalog the course codes are resolved against.
+     * @param limit   The maximum number of courses to read.
+     * @return The codes of the recommended courses that are in the catalog, in the order of the response.
+     * @throws IOException If the body cannot be read or is not a JSON array of course objects.
+     */
+    public static ArrayList<String> decode(InputStream body, CourseCatalog catalog, int limit) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of courses");
+            }
+            return readCourses(parser, catalog, limit, true);
+        }
+    }
+
+    /**
+     * Decodes the course codes of a batch response: an array holding one array of course objects per query.
+     *
+     * @param body    The response body, closed once the courses are read.
+     * @param catalog The catalog the course codes are resolved against.
+     * @param limit   The maximum number of courses to read for each query.
+     * @return The codes of the recommended courses of each query, in the order of the response.
+     * @throws IOException If the body cannot be read or is not a JSON array of course arrays.
+     */
+    public static List<ArrayList<String>> decodeBatch(InputStream body, CourseCatalog catalog, int limit) throws IOException {
+        List<ArrayList<String>> results = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of results");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_ARRAY) {
+                    throw new IOException("Expected a JSON array of courses but found " + token);
+                }
+                results.add(readCourses(parser, catalog, limit, false));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reads the course objects of an array, the parser being on the start of the array.
+     *
+     * @param parser      The parser.
+     * @param catalog     The catalog the course codes are resolved against.
+     * @param limit       The maximum number of courses to read.
+     * @param stopAtLimit Whether to stop reading once the limit is reached, or to skip to the end of the array.
+     * @return The codes of the courses that are in the catalog, in the order of the array.
+     * @throws IOException If the body cannot be read or the array does not hold course objects.
+     */
+    private static ArrayList<String> readCourses(JsonParser parser, CourseCatalog catalog, int limit, boolean stopAtLimit) throws IOException {
+        ArrayList<String> courses = new ArrayList<>();
+        BitSet seen = new BitSet(catalog.size());
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a course object but found " + token);
+            }
+            if (courses.size() >= limit) {
+                if (stopAtLimit) {
+                    break;
+                }
+                parser.skipChildren(); // Courses past the limit are never parsed
+                continue;
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (COURSE_CODE_FIELD.equals(field) && value == JsonToken.VALUE_STRING) {
+                    int id = catalog.getId(parser.getText());
+                    if (id != CourseCatalog.NO_COURSE && !seen.get(id)) {
+                        seen.set(id);
+                        courses.add(catalog.getCourse(id).getCourseCode());
+                    }
+                } else {
+                    parser.skipChildren(); // Nested values of other fields are never parsed
+                }
+            }
+        }
+        return courses;
+    }
+}
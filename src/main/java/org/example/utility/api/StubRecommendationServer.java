@@ -0,0 +1,433 @@
+package org.example.utility.api;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.example.people.UserInput;
+import org.example.utility.courses.Course;
+import org.example.utility.courses.CourseCatalog;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A stand-in for the recommendation API that runs inside the JVM, so the assessment pipeline can be benchmarked and
+ * tried out on a machine without the Python service or a network.
+ *
+ * <p>The server answers {@code GET /recommend-courses/?interests=} with a JSON array of course objects, like the real
+ * API, and {@code POST /recommend-courses/batch} with one such array per query (see {@link BatchEndpoint#http()}).
+ * The courses come from a fixture file mapping interests to course codes when one is given and it holds the interests,
+ * otherwise from the catalog's {@link org.example.utility.courses.InterestMatcher}.</p>
+ *
+ * <p>Every request can be slowed down by a fixed latency plus a random jitter, fail with an HTTP 500 at a given rate,
+ * and have its body dripped out in small chunks, which is how the timeouts, hedging and caching of
+ * {@link APIClient} are measured. With a seed, the delays and errors are the same from one run to the next for the
+ * same order of requests.</p>
+ *
+ * <p>By default the server listens on port 8000, where {@link APIClient} looks for the primary API. The backup API
+ * can be pointed at another stub with the {@code api.backupUrl} system property.</p>
+ *
+ * <pre>
+ * Usage: StubRecommendationServer [--port n] [--latency ms] [--jitter ms] [--error-rate r] [--drip ms] [--seed n] [--fixture file.json]
+ *   --port        Port the server listens on, 0 picks a free port (default: 8000)
+ *   --latency     Time every request waits before it is answered (default: 0)
+ *   --jitter      Largest random time added to the latency (default: 0)
+ *   --error-rate  Share of requests answered with an HTTP 500, between 0 and 1 (default: 0)
+ *   --drip        Time between two chunks of the body, 0 sends the body at once (default: 0)
+ *   --seed        Seed of the jitter and the errors (default: unseeded)
+ *   --fixture     JSON object mapping interests to arrays of course codes (default: the catalog is matched)
+ * </pre>
+ */
+public class StubRecommendationServer {
+    /**
+     * Port of the primary API, used when no port is given.
+     */
+    public static final int DEFAULT_PORT = 8000;
+
+    /**
+     * Path of the recommendation endpoint, the batch endpoint is below it.
+     */
+    private static final String BASE_PATH = "/recommend-courses/";
+
+    /**
+     * Size (in bytes) of each chunk of a dripped body.
+     */
+    private static final int DRIP_CHUNK = 64;
+
+    /**
+     * Mapper reading the fixture and batch requests and writing the responses.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * The port the server is asked to listen on.
+     */
+    private final int port;
+
+    private long latency;
+    private long jitter;
+    private double errorRate;
+    private long dripDelay;
+    private Random random = new Random();
+
+    /**
+     * Course codes answered for normalized interests, instead of matching the catalog.
+     */
+    private Map<String, List<String>> fixture = new HashMap<>();
+
+    /**
+     * The running server, or null if it is not started.
+     */
+    private HttpServer server;
+
+    /**
+     * Threads answering the requests, one per request so a slow answer does not hold up the others.
+     */
+    private ExecutorService executor;
+
+    // Statistics
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Constructs a server answering right away, without errors.
+     *
+     * @param port The port to listen on, 0 picks a free port.
+     */
+    public StubRecommendationServer(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Sets the time every request waits before it is answered.
+     *
+     * @param latency The latency in milliseconds.
+     */
+    public void setLatency(long latency) {
+        this.latency = Math.max(0, latency);
+    }
+
+    /**
+     * Sets the largest random time added to the latency of each request.
+     *
+     * @param jitter The jitter in milliseconds.
+     */
+    public void setJitter(long jitter) {
+        this.jitter = Math.max(0, jitter);
+    }
+
+    /**
+     * Sets the share of requests answered with an HTTP 500.
+     *
+     * @param errorRate The error rate, between 0 and 1.
+     */
+    public void setErrorRate(double errorRate) {
+        this.errorRate = Math.min(1, Math.max(0, errorRate));
+    }
+
+    /**
+     * Makes the server send its bodies in chunks of {@link #DRIP_CHUNK} bytes, waiting between two chunks.
+     *
+     * @param dripDelay The time between two chunks in milliseconds, 0 sends the body at once.
+     */
+    public void setDripDelay(long dripDelay) {
+        this.dripDelay = Math.max(0, dripDelay);
+    }
+
+    /**
+     * Makes the jitter and the errors reproducible.
+     *
+     * @param seed The seed.
+     */
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Reads a fixture file: a JSON object mapping interests to arrays of course codes.
+     * Interests found in the fixture are answered with its courses, in its order.
+     *
+     * @param file The fixture file.
+     * @throws IOException If the file cannot be read or is not a JSON object of arrays.
+     */
+    public void loadFixture(File file) throws IOException {
+        Map<String, List<String>> entries = MAPPER.readValue(file, new TypeReference<Map<String, List<String>>>() {
+        });
+        Map<String, List<String>> normalized = new HashMap<>();
+        entries.forEach((interests, courses) -> normalized.put(UserInput.normalizeInterests(interests), courses));
+        this.fixture = normalized;
+    }
+
+    /**
+     * Starts listening on the loopback address.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(BASE_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Stops the server, dropping the requests still being answered.
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        executor = null;
+    }
+
+    /**
+     * Retrieves the port the server listens on, which is the chosen one if the server was asked for port 0.
+     *
+     * @return The port.
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    /**
+     * Retrieves the URL of the recommendation endpoint, in the form {@link APIClient} expects.
+     *
+     * @return The URL.
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + getPort() + BASE_PATH;
+    }
+
+    /**
+     * Retrieves the number of requests received.
+     *
+     * @return The number of requests.
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Retrieves the number of requests answered with an injected error.
+     *
+     * @return The number of errors.
+     */
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    /**
+     * Answers one request.
+     *
+     * @param exchange The request and its response.
+     */
+    private void handle(HttpExchange exchange) {
+        requests.incrementAndGet();
+        try (exchange) {
+            long delay;
+            boolean fail;
+            synchronized (this) {
+                delay = latency + (jitter > 0 ? (long) (random.nextDouble() * (jitter + 1)) : 0);
+                fail = errorRate > 0 && random.nextDouble() < errorRate;
+            }
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+            if (fail) {
+                errors.incrementAndGet();
+                send(exchange, 500, MAPPER.writeValueAsBytes(Map.of("detail", "Injected error")));
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals(BASE_PATH) && method.equals("GET")) {
+                String interests = queryParameter(exchange.getRequestURI().getRawQuery(), "interests");
+                send(exchange, 200, MAPPER.writeValueAsBytes(recommend(interests == null ? "" : interests)));
+            } else if (path.equals(BASE_PATH + "batch") && method.equals("POST")) {
+                Map<String, List<String>> request;
+                try (InputStream body = exchange.getRequestBody()) {
+                    request = MAPPER.readValue(body, new TypeReference<Map<String, List<String>>>() {
+                    });
+                }
+                List<String> queries = request.get("interests");
+                if (queries == null) {
+                    send(exchange, 400, MAPPER.writeValueAsBytes(Map.of("detail", "Missing interests")));
+                    return;
+                }
+                List<List<Map<String, Object>>> results = new ArrayList<>(queries.size());
+                for (String interests : queries) {
+                    results.add(recommend(interests));
+                }
+                send(exchange, 200, MAPPER.writeValueAsBytes(results));
+            } else {
+                send(exchange, 404, MAPPER.writeValueAsBytes(Map.of("detail", "Not Found")));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // The server is stopping
+        } catch (IOException e) {
+            // The client gave up on the request, which is expected when it hedges or times out
+        }
+    }
+
+    /**
+     * Finds the courses for some interests, in the fixture first, then in the catalog.
+     *
+     * @param interests The interests of the request.
+     * @return The course objects, as the real API returns them.
+     */
+    private List<Map<String, Object>> recommend(String interests) {
+        CourseCatalog catalog = CourseCatalog.getInstance();
+        List<String> codes = fixture.get(UserInput.normalizeInterests(interests));
+        if (codes == null) {
+            codes = catalog.getInterestMatcher().recommend(interests);
+        }
+
+        List<Map<String, Object>> courses = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            Map<String, Object> course = new LinkedHashMap<>();
+            course.put("Course Code", code);
+            Course known = catalog.getCourse(code);
+            if (known != null) {
+                course.put("Course Name", known.getCourseName());
+                course.put("Course Area", known.getCourseArea());
+                course.put("Grade Level", known.getGradeLevel());
+            }
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    /**
+     * Sends a JSON response, dripping the body out if a drip delay is set.
+     *
+     * @param exchange The request and its response.
+     * @param status   The HTTP status code.
+     * @param body     The body.
+     * @throws IOException          If the client closed the connection.
+     * @throws InterruptedException If the server is stopping.
+     */
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        if (dripDelay == 0) {
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+            return;
+        }
+
+        exchange.sendResponseHeaders(status, 0); // Chunked, so every chunk reaches the client as it is written
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int offset = 0; offset < body.length; offset += DRIP_CHUNK) {
+                out.write(body, offset, Math.min(DRIP_CHUNK, body.length - offset));
+                out.flush();
+                Thread.sleep(dripDelay);
+            }
+        }
+    }
+
+    /**
+     * Reads a parameter out of a raw query string.
+     *
+     * @param query The raw query string, or null.
+     * @param name  The name of the parameter.
+     * @return The decoded value, or null if the parameter is missing.
+     */
+    private static String queryParameter(String query, String name) {
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int equals = parameter.indexOf('=');
+            String key = equals < 0 ? parameter : parameter.substring(0, equals);
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                return equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Runs the stub server from the command line until the process is stopped.
+     *
+     * @param args The options described in the class documentation.
+     */
+    public static void main(String[] args) {
+        int port = DEFAULT_PORT;
+        long latency = 0;
+        long jitter = 0;
+        double errorRate = 0;
+        long drip = 0;
+        Long seed = null;
+        File fixture = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--latency" -> latency = Long.parseLong(args[++i]);
+                    case "--jitter" -> jitter = Long.parseLong(args[++i]);
+                    case "--error-rate" -> errorRate = Double.parseDouble(args[++i]);
+                    case "--drip" -> drip = Long.parseLong(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--fixture" -> fixture = new File(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.err.println("Usage: StubRecommendationServer [--port n] [--latency ms] [--jitter ms] [--error-rate r] [--drip ms] [--seed n] [--fixture file.json]");
+            System.exit(2);
+        }
+
+        StubRecommendationServer server = new StubRecommendationServer(port);
+        server.setLatency(latency);
+        server.setJitter(jitter);
+        server.setErrorRate(errorRate);
+        server.setDripDelay(drip);
+        if (seed != null) {
+            server.setSeed(seed);
+        }
+
+        try {
+            if (fixture != null) {
+                server.loadFixture(fixture);
+            }
+            CourseCatalog.getInstance(); // Load the catalog before the first request
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Could not start the stub server: " + e.getMessage());
+            System.exit(1);
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.println("Stub recommendation API listening on " + server.getUrl());
+    }
+}
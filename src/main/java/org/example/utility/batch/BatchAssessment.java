@@ -0,0 +1,352 @@
+package org.example.utility.batch;
+
+import org.example.people.UserInput;
+import org.example.utility.api.APIClient;
+import org.example.utility.api.BatchEndpoint;
+import org.example.utility.api.RecommendationBatcher;
+import org.example.utility.courses.Course;
+import org.example.utility.courses.CourseAssembly;
+import org.example.utility.courses.CourseCatalog;
+import org.example.utility.courses.FillPolicy;
+import org.example.utility.courses.RecommendationCache;
+import org.example.utility.courses.RecommendationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Command-line runner that pre-generates course recommendations for a whole cohort of students, without the UI.
+ *
+ * <p>The students are read from a roster file (see {@link RosterReader}) and assessed in parallel,
+ * each against the same catalog snapshot. Instead of asking the student to fill empty slots, the runner
+ * fills them with a fill policy chosen on the command line. Every student's plan is written to its own file
+ * in the output directory as soon as it is done, and a throughput summary is printed at the end.</p>
+ *
+ * <pre>
+ * Usage: BatchAssessment &lt;roster.csv|roster.json&gt; [--output dir] [--threads n] [--fill interests|random|fail] [--seed n] [--offline] [--api-batch http|local]
+ *   --output     Directory the plans are written to (default: batch_output)
+ *   --threads    Number of students assessed at the same time (default: number of processors)
+ *   --fill       How empty slots are filled: from the API using the student's interests, with random courses,
+ *                or not at all, failing the student (default: interests)
+ *   --seed       Seed for the random course picks, so rerunning the batch builds the same plans (default: unseeded)
+ *   --offline    Skip the recommendation API: the interest courses of the plan, and the empty slots with the
+ *                interests fill policy, come from the student's interests matched locally against the catalog
+ *   --api-batch  Coalesce the interest queries of students assessed at the same time into batches, sent to the
+ *                batch endpoint of the API or answered locally (default: one request per student). The lookups
+ *                then do not hold a thread, so a full batch is kept in flight whatever the number of threads
+ * </pre>
+ */
+public class BatchAssessment {
+    /**
+     * Number of finished students between two progress lines.
+     */
+    private static final int PROGRESS_INTERVAL = 100;
+
+    /**
+     * Directory the plans are written to when none is given.
+     */
+    private static final String DEFAULT_OUTPUT = "batch_output";
+
+    /**
+     * The catalog snapshot every student in the batch is assessed against.
+     */
+    private final CourseCatalog catalog;
+
+    /**
+     * The directory the plans are written to.
+     */
+    private final File outputDirectory;
+
+    /**
+     * How empty slots are filled when there is no student to ask.
+     */
+    private final FillPolicy fillPolicy;
+
+    /**
+     * Whether the recommendation API is skipped.
+     */
+    private final boolean offline;
+
+    /**
+     * The seed of the random course picks, or null to leave them unseeded.
+     */
+    private Long seed;
+
+    /**
+     * The batcher the interest queries are coalesced in, or null if each student sends their own request.
+     */
+    private RecommendationBatcher batcher;
+
+    // Progress counters, updated by the worker threads
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong assessmentNanos = new AtomicLong();
+
+    /**
+     * Constructs a batch runner.
+     *
+     * @param catalog         The catalog snapshot every student is assessed against.
+     * @param outputDirectory The directory the plans are written to.
+     * @param fillPolicy      How empty slots are filled.
+     * @param offline         Whether the recommendation API is skipped.
+     */
+    public BatchAssessment(CourseCatalog catalog, File outputDirectory, FillPolicy fillPolicy, boolean offline) {
+        this.catalog = catalog;
+        this.outputDirectory = outputDirectory;
+        this.fillPolicy = fillPolicy;
+        this.offline = offline;
+    }
+
+    /**
+     * Makes the random course picks reproducible. Each student gets a seed derived from this seed and their username,
+     * so a plan does not depend on the order the worker threads pick the students up.
+     *
+     * @param seed The seed of the batch.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Coalesces the interest queries of the students assessed at the same time into batches.
+     *
+     * @param batcher The batcher the queries are coalesced in.
+     */
+    public void setBatcher(RecommendationBatcher batcher) {
+        this.batcher = batcher;
+    }
+
+    /**
+     * Assesses every student in the roster and waits for all of them to finish.
+     *
+     * @param students The students to assess.
+     * @param threads  The number of students assessed at the same time.
+     * @throws InterruptedException If the thread is interrupted while waiting for the batch.
+     */
+    public void run(List<UserInput> students, int threads) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        if (batcher != null && !offline) {
+            APIClient.setBatcher(batcher);
+            runBatched(students, executor, start);
+        } else {
+            for (UserInput student : students) {
+                executor.submit(() -> assess(student, () -> buildPlan(student), students.size(), start, System.nanoTime()));
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        APIClient.setBatcher(null);
+
+        printSummary(students.size(), threads, System.nanoTime() - start);
+    }
+
+    /**
+     * Starts the plans of the students without a worker thread each, and waits for all of them to be assessed.
+     *
+     * <p>A worker thread blocked on its student's lookup would cap the queries in flight, and so the size of the
+     * batches, at the number of threads. Instead the plans are built with {@link CourseAssembly#buildPlanAsync},
+     * and as many students are kept in flight as fit in one batch. The worker threads only fill and write the plans
+     * once they are built.</p>
+     *
+     * @param students The students to assess.
+     * @param executor The worker threads.
+     * @param start    The time the batch started, from {@link System#nanoTime()}.
+     * @throws InterruptedException If the thread is interrupted while waiting for a lookup to finish.
+     */
+    private void runBatched(List<UserInput> students, ExecutorService executor, long start) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(batcher.getMaxBatchSize());
+        List<CompletableFuture<Void>> assessments = new ArrayList<>();
+        for (UserInput student : students) {
+            inFlight.acquire();
+            long assessmentStart = System.nanoTime();
+            CompletableFuture<RecommendationContext> plan = CourseAssembly.buildPlanAsync(catalog, student,
+                    () -> APIClient.getAPIDataClassesAsync(student.getInterests()));
+            assessments.add(plan.handleAsync((context, error) -> {
+                try {
+                    assess(student, plan::join, students.size(), start, assessmentStart);
+                } finally {
+                    inFlight.release(); // Released once the plan is written, so finished plans do not pile up
+                }
+                return null;
+            }, executor));
+        }
+        CompletableFuture.allOf(assessments.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Builds the plan of a student, with the courses the API recommends for their interests or, offline,
+     * with the courses the catalog's interest matcher finds for them.
+     *
+     * @param student The student to assess.
+     * @return The assessment, with its plan built up to the point where empty slots are filled.
+     */
+    private RecommendationContext buildPlan(UserInput student) {
+        return offline
+                ? CourseAssembly.buildPlan(catalog, student, catalog.getInterestMatcher().recommend(student.getInterests()))
+                : CourseAssembly.buildPlan(catalog, student);
+    }
+
+    /**
+     * Assesses one student and writes their plan. Failures are counted and reported, never rethrown,
+     * so one bad roster entry does not stop the batch.
+     *
+     * @param student         The student to assess.
+     * @param plan            Builds the student's plan, or waits for it to be built.
+     * @param total           The number of students in the batch.
+     * @param start           The time the batch started, from {@link System#nanoTime()}.
+     * @param assessmentStart The time the student's assessment started, from {@link System#nanoTime()}.
+     */
+    private void assess(UserInput student, Supplier<RecommendationContext> plan, int total, long start, long assessmentStart) {
+        try {
+            RecommendationContext context = plan.get();
+            if (seed != null) {
+                context.setSeed(seed * 31 + String.valueOf(student.getUsername()).hashCode());
+            }
+
+            if (Course.hasEmptySlots(context)) {
+                fillPolicy.fill(context).join();
+            }
+            Course.sortCoursesByGrade(context);
+
+            if (!Course.writeRecommendedCoursesToFileCourseName(context, outputDirectory.getPath())) {
+                failed.incrementAndGet();
+            }
+        } catch (CompletionException e) {
+            System.err.println("Assessment failed for " + student.getUsername() + ": " + e.getCause());
+            failed.incrementAndGet();
+        } catch (RuntimeException e) {
+            System.err.println("Assessment failed for " + student.getUsername() + ": " + e);
+            failed.incrementAndGet();
+        } finally {
+            assessmentNanos.addAndGet(System.nanoTime() - assessmentStart);
+        }
+
+        int done = completed.incrementAndGet();
+        if (done % PROGRESS_INTERVAL == 0 || done == total) {
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("Progress: %d/%d students (%.1f students/s)%n", done, total, done / seconds);
+        }
+    }
+
+    /**
+     * Prints the number of students assessed, the failures and the throughput of the batch.
+     *
+     * @param total        The number of students in the batch.
+     * @param threads      The number of worker threads.
+     * @param elapsedNanos The wall-clock time of the batch.
+     */
+    private void printSummary(int total, int threads, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        int done = completed.get();
+        System.out.println("Batch assessment finished");
+        System.out.printf("  Students:     %d (%d failed)%n", total, failed.get());
+        System.out.printf("  Threads:      %d%n", threads);
+        System.out.printf("  Elapsed:      %.2f s%n", seconds);
+        System.out.printf("  Throughput:   %.1f students/s%n", seconds > 0 ? done / seconds : 0.0);
+        System.out.printf("  Mean latency: %.2f ms per student%n", done > 0 ? assessmentNanos.get() / 1e6 / done : 0.0);
+        if (!offline) {
+            RecommendationCache cache = RecommendationCache.getInstance();
+            System.out.printf("  Plan cache:   %d hits, %d misses%n", cache.getHits(), cache.getMisses());
+            if (batcher != null) {
+                System.out.printf("  API batches:  %d for %d queries%n", batcher.getBatchCount(), batcher.getQueryCount());
+            }
+        }
+        System.out.println("  Output:       " + outputDirectory.getAbsolutePath());
+    }
+
+    /**
+     * Picks the fill policy named on the command line.
+     * Without the API, interests are matched locally instead.
+     *
+     * @param fill    The name of the fill policy.
+     * @param offline Whether the recommendation API is skipped.
+     * @return The fill policy.
+     */
+    private static FillPolicy toFillPolicy(String fill, boolean offline) {
+        return switch (fill) {
+            case "fail" -> FillPolicy.failFast();
+            case "interests" -> offline ? FillPolicy.local() : FillPolicy.api();
+            default -> FillPolicy.random();
+        };
+    }
+
+    /**
+     * Runs a batch assessment from the command line.
+     *
+     * @param args The roster file followed by the options described in the class documentation.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: BatchAssessment <roster.csv|roster.json> [--output dir] [--threads n] [--fill interests|random|fail] [--seed n] [--offline] [--api-batch http|local]");
+            System.exit(2);
+        }
+
+        File roster = new File(args[0]);
+        File output = new File(DEFAULT_OUTPUT);
+        int threads = Runtime.getRuntime().availableProcessors();
+        String fill = "interests";
+        boolean offline = false;
+        Long seed = null;
+        String apiBatch = null;
+
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--output" -> output = new File(args[++i]);
+                    case "--threads" -> threads = Math.max(1, Integer.parseInt(args[++i]));
+                    case "--fill" -> fill = args[++i];
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--offline" -> offline = true;
+                    case "--api-batch" -> apiBatch = args[++i];
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (!fill.equals("interests") && !fill.equals("random") && !fill.equals("fail")) {
+                throw new IllegalArgumentException("Unknown fill policy: " + fill);
+            }
+            if (apiBatch != null && !apiBatch.equals("http") && !apiBatch.equals("local")) {
+                throw new IllegalArgumentException("Unknown batch endpoint: " + apiBatch);
+            }
+        } catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.exit(2);
+        }
+
+        if (!output.isDirectory() && !output.mkdirs()) {
+            System.err.println("Could not create output directory: " + output);
+            System.exit(1);
+        }
+
+        try {
+            List<UserInput> students = RosterReader.read(roster);
+            System.out.println("Assessing " + students.size() + " students from " + roster);
+            BatchAssessment batch = new BatchAssessment(CourseCatalog.getInstance(), output, toFillPolicy(fill, offline), offline);
+            if (seed != null) {
+                batch.setSeed(seed);
+            }
+            if (apiBatch != null) {
+                batch.setBatcher(new RecommendationBatcher(apiBatch.equals("http") ? BatchEndpoint.http() : BatchEndpoint.local()));
+            }
+            batch.run(students, threads);
+        } catch (IOException e) {
+            System.err.println("Could not read roster: " + roster + ", Error: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Batch assessment interrupted");
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.example.utility.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.people.UserInput;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class that reads a roster of students for a batch assessment, from either a CSV or a JSON file.
+ *
+ * <p>A CSV roster has a header line and one student per line, with the columns
+ * {@code username,grade,track,interest1,interest2,previousCourses}. Fields may be quoted,
+ * and the previous courses are course codes separated by semicolons.</p>
+ *
+ * <p>The track must be one of {@link UserInput#TRACKS}, in any case. It is stored in its canonical spelling,
+ * as the quiz stores it.</p>
+ *
+ * <p>A JSON roster is an array of objects with the fields {@code username}, {@code grade}, {@code track},
+ * {@code interests} (an array of up to two strings) and {@code previousCourses} (an array of course codes).</p>
+ */
+public class RosterReader {
+    // Column indexes in a CSV roster
+    private static final int USERNAME = 0;
+    private static final int GRADE = 1;
+    private static final int TRACK = 2;
+    private static final int INTEREST_1 = 3;
+    private static final int INTEREST_2 = 4;
+    private static final int PREVIOUS_COURSES = 5;
+
+    /**
+     * Reads the students in a roster file, choosing the format from the file extension.
+     *
+     * @param roster The roster file, ending in .json or .csv.
+     * @return The students in the roster, in file order.
+     * @throws IOException If the file cannot be read or is not a valid roster.
+     */
+    public static List<UserInput> read(File roster) throws IOException {
+        if (roster.getName().toLowerCase().endsWith(".json")) {
+            return readJson(roster);
+        }
+        return readCsv(roster);
+    }
+
+    /**
+     * Reads the students in a CSV roster. Blank lines are skipped.
+     *
+     * @param roster The roster file.
+     * @return The students in the roster.
+     * @throws IOException If the file cannot be read, a line is missing columns or a column holds an invalid value.
+     */
+    private static List<UserInput> readCsv(File roster) throws IOException {
+        List<UserInput> students = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(roster.toPath(), StandardCharsets.UTF_8)) {
+            String line = reader.readLine(); // Skips the header
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                List<String> fields = splitCsvLine(line);
+                if (fields.size() <= TRACK) {
+                    throw new IOException("Missing columns on line " + lineNumber + " of " + roster);
+                }
+                String[] previousCourses = fields.size() > PREVIOUS_COURSES && !fields.get(PREVIOUS_COURSES).isBlank()
+                        ? fields.get(PREVIOUS_COURSES).split(";")
+                        : new String[0];
+                students.add(toUserInput(fields.get(USERNAME), parseGrade(fields.get(GRADE), lineNumber),
+                        parseTrack(fields.get(TRACK), "line " + lineNumber),
+                        field(fields, INTEREST_1), field(fields, INTEREST_2), previousCourses));
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Reads the students in a JSON roster.
+     *
+     * @param roster The roster file.
+     * @return The students in the roster.
+     * @throws IOException If the file cannot be read, is not a JSON array or an entry has an unknown track.
+     */
+    private static List<UserInput> readJson(File roster) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(roster);
+        if (root == null || !root.isArray()) {
+            throw new IOException("Roster is not a JSON array: " + roster);
+        }
+
+        List<UserInput> students = new ArrayList<>();
+        int entryNumber = 0;
+        for (JsonNode node : root) {
+            entryNumber++;
+            JsonNode interests = node.path("interests");
+            List<String> previousCourses = new ArrayList<>();
+            node.path("previousCourses").forEach(course -> previousCourses.add(course.asText()));
+            students.add(toUserInput(node.path("username").asText(), node.path("grade").asInt(),
+                    parseTrack(node.path("track").asText(), "entry " + entryNumber),
+                    interests.path(0).asText(""), interests.path(1).asText(""), previousCourses.toArray(new String[0])));
+        }
+        return students;
+    }
+
+    /**
+     * Builds the input of a student the same way the quiz does.
+     *
+     * @param username        The student's username.
+     * @param grade           The student's grade level.
+     * @param track           The student's track, in its canonical spelling.
+     * @param interest1       The student's first interests answer.
+     * @param interest2       The student's second interests answer.
+     * @param previousCourses The course codes of the courses the student has already taken.
+     * @return The student's input.
+     */
+    private static UserInput toUserInput(String username, int grade, String track, String interest1, String interest2, String[] previousCourses) {
+        // Previous courses are stored as a quoted list, like the quiz stores them
+        StringBuilder courses = new StringBuilder("[");
+        for (String course : previousCourses) {
+            if (courses.length() > 1) {
+                courses.append(", ");
+            }
+            courses.append('"').append(course.trim()).append('"');
+        }
+        courses.append(']');
+
+        return new UserInput(new String[]{interest1, interest2}, courses.toString(), grade, track, username.trim());
+    }
+
+    /**
+     * Parses the grade column of a CSV roster.
+     *
+     * @param value      The value of the column.
+     * @param lineNumber The line the value was read from.
+     * @return The grade level.
+     * @throws IOException If the value is not a number.
+     */
+    private static int parseGrade(String value, int lineNumber) throws IOException {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid grade on line " + lineNumber + ": " + value);
+        }
+    }
+
+    /**
+     * Parses the track of a roster entry into its canonical spelling.
+     *
+     * @param value    The value of the track.
+     * @param location Where the value was read from, such as "line 3" or "entry 3".
+     * @return The canonical track.
+     * @throws IOException If the value is not a known track.
+     */
+    private static String parseTrack(String value, String location) throws IOException {
+        String track = UserInput.canonicalTrack(value);
+        if (track == null) {
+            throw new IOException("Invalid track on " + location + ": " + value + " (expected one of " + String.join(", ", UserInput.TRACKS) + ")");
+        }
+        return track;
+    }
+
+    /**
+     * Returns a column of a CSV line, or an empty string if the line is too short.
+     *
+     * @param fields The fields of the line.
+     * @param index  The column index.
+     * @return The value of the column.
+     */
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : "";
+    }
+
+    /**
+     * Splits a CSV line into fields. Fields may be quoted, and a doubled quote inside a quoted field is a literal quote.
+     *
+     * @param line The line to split.
+     * @return The fields of the line.
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
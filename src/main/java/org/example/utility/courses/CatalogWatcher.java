@@ -0,0 +1,137 @@
+package org.example.utility.courses;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CatalogWatcher class watches the course workbook for changes and reloads the {@link CourseCatalog}
+ * in the background when it is saved, so counselors can update the courses without restarting the application.
+ *
+ * <p>Saving a workbook usually fires several file events in a row, so the watcher waits until the file
+ * has been quiet for a short time before reloading.</p>
+ */
+public class CatalogWatcher {
+    /**
+     * Time (in milliseconds) the workbook must go without changes before the catalog is reloaded.
+     */
+    private static final long QUIET_PERIOD = 1000;
+
+    /**
+     * The background thread watching the workbook, or null if the watcher is not running.
+     */
+    private static Thread watcherThread;
+
+    /**
+     * The watch service used by the running watcher.
+     */
+    private static WatchService watchService;
+
+    /**
+     * Starts watching the course workbook on a daemon thread.
+     * Calling this method while the watcher is already running has no effect.
+     */
+    public static synchronized void start() {
+        if (watcherThread != null) {
+            return;
+        }
+
+        Path workbook = Paths.get(ExcelUtility.FILE_NAME).toAbsolutePath();
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            workbook.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            System.err.println("Could not watch course data for changes: " + e.getMessage());
+            return;
+        }
+
+        WatchService service = watchService;
+        watcherThread = new Thread(() -> watch(service, workbook.getFileName()), "course-catalog-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Stops watching the course workbook.
+     */
+    public static synchronized void stop() {
+        if (watcherThread == null) {
+            return;
+        }
+
+        try {
+            watchService.close(); // Wakes the watcher thread up
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        watcherThread = null;
+        watchService = null;
+    }
+
+    /**
+     * Waits for changes to the workbook and reloads the catalog once the changes have settled.
+     *
+     * @param service  The watch service registered on the workbook's directory.
+     * @param fileName The file name of the workbook.
+     */
+    private static void watch(WatchService service, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = drain(key, fileName);
+
+                // Keep collecting events until the workbook has been quiet for a while
+                while (changed) {
+                    WatchKey next = service.poll(QUIET_PERIOD, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        reload();
+                        break;
+                    }
+                    drain(next, fileName);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // The watcher was stopped
+        }
+    }
+
+    /**
+     * Reloads the catalog. A workbook that cannot be turned into a catalog (a bad cell, a prerequisite cycle...)
+     * only costs this reload: the current catalog is kept and the watcher goes on watching for the next save.
+     */
+    private static void reload() {
+        try {
+            CourseCatalog.reload();
+        } catch (RuntimeException e) {
+            System.err.println("Could not reload course data, keeping the current catalog: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Consumes the pending events of a watch key and resets it.
+     *
+     * @param key      The watch key with pending events.
+     * @param fileName The file name of the workbook.
+     * @return true if any of the events were for the workbook, false otherwise.
+     */
+    private static boolean drain(WatchKey key, Path fileName) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (fileName.equals(event.context())) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+}
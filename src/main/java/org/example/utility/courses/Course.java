@@ -2,21 +2,14 @@ package org.example.utility.courses;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
-import org.example.gui.manager.FormsManager;
-import org.example.gui.pages.quiz.FillCourses;
 import org.example.people.UserInput;
 import org.example.utility.api.APIClient;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-
-import static org.example.utility.courses.CourseAssembly.*;
-import java.util.concurrent.CountDownLatch;
 
 
 /**
@@ -28,74 +21,39 @@ import java.util.concurrent.CountDownLatch;
  */
 public class Course {
     /**
-     * The code uniquely identifying the course.
-     */
-    private String courseCode;
-
-    /**
-     * The name of the course.
-     */
-    private String courseName;
-
-    /**
-     * The academic area or department to which the course belongs.
-     */
-    private String courseArea;
-
-    /**
-     * The prerequisites required to enroll in the course.
-     */
-    private String prerequisites;
-
-    /**
-     * The grade level for which the course is designed.
-     */
-    private int gradeLevel;
-
-    /**
-     * The track associated with the course (e.g., standard, honors, AP).
+     * The catalog holding the data of this course.
      */
-    private String track;
+    private final CourseCatalog catalog;
 
     /**
-     * Indicates whether the course satisfies a graduation requirement.
+     * The ID of this course in the catalog.
      */
-    private String graduationRequirement;
+    private final int id;
 
     /**
      * The maximum number of courses a student can take per grade level.
      */
-    private static final int MAX_COURSES_PER_GRADE = 8;
+    static final int MAX_COURSES_PER_GRADE = 8;
 
     /**
-     * A list of courses retrieved via an API. Initially set to null.
-     */
-    private static ArrayList<String> apiCourses = null;
-
-    /**
-     * A flag indicating whether the API has been accessed.
+     * Constructs a view of a course stored in the catalog's columns.
+     * Courses are only created by the catalog they belong to.
+     *
+     * @param catalog The catalog holding the course data.
+     * @param id      The ID of the course in the catalog.
      */
-    private static AtomicBoolean hasAPI = new AtomicBoolean(false);
+    Course(CourseCatalog catalog, int id) {
+        this.catalog = catalog;
+        this.id = id;
+    }
 
     /**
-     * Constructor to initialize a course with the specified details.
+     * Retrieves the ID of this course in its catalog.
      *
-     * @param courseCode The code representing the course.
-     * @param courseName The name of the course.
-     * @param courseArea The area or category the course belongs to (e.g., Math, Science).
-     * @param prerequisites A comma-separated list of prerequisite course codes.
-     * @param gradeLevel The grade level required to take the course.
-     * @param track The track the course belongs to (e.g., Science, Arts).
-     * @param graduationRequirement The graduation requirement that this course fulfills.
+     * @return The course ID.
      */
-    public Course(String courseCode, String courseName, String courseArea, String prerequisites, int gradeLevel, String track, String graduationRequirement) {
-        this.courseCode = courseCode;
-        this.courseName = courseName;
-        this.courseArea = courseArea;
-        this.prerequisites = prerequisites;
-        this.gradeLevel = gradeLevel;
-        this.track = track;
-        this.graduationRequirement = graduationRequirement;
+    public int getId() {
+        return id;
     }
 
     /**
@@ -104,7 +62,7 @@ public class Course {
      * @return The course code as a string.
      */
     public String getCourseCode() {
-        return courseCode;
+        return catalog.getCourseCode(id);
     }
 
     /**
@@ -113,7 +71,7 @@ public class Course {
      * @return The course name as a string.
      */
     public String getCourseName() {
-        return courseName;
+        return catalog.getCourseName(id);
     }
 
     /**
@@ -122,7 +80,17 @@ public class Course {
      * @return The course area as a string.
      */
     public String getCourseArea() {
-        return courseArea;
+        return catalog.getCourseArea(id);
+    }
+
+    /**
+     * Retrieves the dictionary ID of the area this course belongs to.
+     * Two courses are in the same area exactly when their area IDs are equal.
+     *
+     * @return The course area ID.
+     */
+    public int getCourseAreaId() {
+        return catalog.getCourseAreaId(id);
     }
 
     /**
@@ -131,7 +99,7 @@ public class Course {
      * @return The prerequisites as a string, or an empty string if none exist.
      */
     public String getPrerequisites() {
-        return prerequisites;
+        return catalog.getPrerequisites(id);
     }
 
     /**
@@ -140,7 +108,7 @@ public class Course {
      * @return The grade level as an integer.
      */
     public int getGradeLevel() {
-        return gradeLevel;
+        return catalog.getGradeLevel(id);
     }
 
     /**
@@ -149,7 +117,7 @@ public class Course {
      * @return The course track as a string.
      */
     public String getTrack() {
-        return track;
+        return catalog.getTrack(id);
     }
 
     /**
@@ -158,72 +126,153 @@ public class Course {
      * @return The graduation requirement as a string, or an empty string if none exist.
      */
     public String getGraduationRequirement() {
-        return graduationRequirement;
+        return catalog.getGraduationRequirement(id);
     }
 
 
     /**
-     * This method checks if a course meets the prerequisites and grade level requirements
-     * for a student, and adds the course to the student's course list if applicable. This is the main algorithm to assign courses to the user.
+     * This method checks if a course meets the grade level and track requirements for a student, and adds the course
+     * and its whole prerequisite chain to the student's course list. This is the main algorithm to assign courses to the user.
+     *
+     * <p>The prerequisite chain comes precomputed from the catalog as a bit set of course IDs, so it is expanded with a
+     * single bit set operation filtered by the student's eligible courses, without recursion.</p>
+     *
+     * @param context  The assessment to add the courses to.
+     * @param eligible The IDs of the courses the student is eligible to take.
+     * @param chain    A scratch bit set reused between calls to hold the prerequisite chain.
+     */
+    private void engine(RecommendationContext context, BitSet eligible, BitSet chain) {
+        if (!eligible.get(id)) {
+            return; // does not meet the requirements
+        }
+
+        // Keeps only the courses in the chain the student can take
+        chain.clear();
+        catalog.addPrerequisiteChain(id, chain);
+        chain.and(eligible);
+
+        // Prerequisites have lower IDs, so walking down from the course adds it before its prerequisites
+        for (int i = chain.previousSetBit(id); i >= 0; i = chain.previousSetBit(i - 1)) {
+            catalog.getCourse(i).addCourse(context);
+        }
+    }
+
+    /**
+     * Finds the courses a student is eligible to take: courses at or above their grade,
+     * on their track or open to every track, and not already taken.
      *
+     * @param catalog The course catalog to check.
      * @param student The student whose course eligibility is being checked.
+     * @return The IDs of the courses the student is eligible to take.
      */
-    private void engine(UserInput student) {
+    private static BitSet findEligibleCourses(CourseCatalog catalog, UserInput student) {
+        BitSet previousCourses = getPreviousCourseIds(catalog, student);
+        BitSet eligible = new BitSet(catalog.size());
 
-        // Checks if course is at or above your grade and if it is on your track
-        if (track.equals("Open")) {
-            if (student.getGrade() > gradeLevel) {
-                return; // does not meet the requirements
+        for (int id = 0; id < catalog.size(); id++) {
+            // Checks if course is at or above your grade and if it is on your track
+            if (student.getGrade() > catalog.getGradeLevel(id)) {
+                continue;
+            }
+            String track = catalog.getTrack(id);
+            if (!track.equalsIgnoreCase("Open") && !track.equalsIgnoreCase(student.getTrack())) {
+                continue;
             }
-        } else {
-            if (student.getGrade() > gradeLevel || !student.getTrack().equals(track)) {
-                return; // does not meet the requirements
+
+            // Checks if your course has been already taken
+            if (previousCourses.get(id)) {
+                continue;
             }
+            eligible.set(id);
         }
+        return eligible;
+    }
 
-        // Checks if your course has been already taken
-        String[] previousCoursesArray = student.getPreviousCourses().split("\\s*,\\s*");
+    /**
+     * Extracts the course codes of the courses a student has already taken.
+     *
+     * @param student The student whose previous courses are being read.
+     * @return The course codes of the previous courses.
+     */
+    public static List<String> getPreviousCourseCodes(UserInput student) {
+        List<String> previousCourses = new ArrayList<>();
+        for (String course : cleanPreviousCourses(student.getPreviousCourses())) {
+            previousCourses.add(course.split(" - ")[0]);
+        }
+        return previousCourses;
+    }
 
-        if (Arrays.asList(previousCoursesArray).contains(courseCode)) {
-            return; // does not meet the requirements
+    /**
+     * Looks up the IDs of the courses a student has already taken.
+     * Previous courses that are not in the catalog are ignored.
+     *
+     * @param catalog The course catalog to look the courses up in.
+     * @param student The student whose previous courses are being read.
+     * @return The IDs of the previous courses.
+     */
+    private static BitSet getPreviousCourseIds(CourseCatalog catalog, UserInput student) {
+        BitSet previousCourses = new BitSet(catalog.size());
+        for (String courseCode : getPreviousCourseCodes(student)) {
+            int id = catalog.getId(courseCode);
+            if (id != CourseCatalog.NO_COURSE) {
+                previousCourses.set(id);
+            }
+        }
+        return previousCourses;
+    }
+
+    /**
+     * Checks if a grade's course slots hold a course.
+     *
+     * @param courses The course IDs of the grade.
+     * @param id      The ID of the course to look for.
+     * @return true if the course is in one of the slots, false otherwise.
+     */
+    static boolean containsCourse(int[] courses, int id) {
+        for (int course : courses) {
+            if (course == id) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // Adds the course if it passes the first stage, and then it finds all the prerequisites with recursion
-        addCourse(student);
-        if (!"none".equals(prerequisites)) {
-            Course prerequisiteCourse = getCourse(prerequisites);
-            if (prerequisiteCourse != null) {
-                prerequisiteCourse.engine(student);
+    /**
+     * Puts a course in the first empty slot of a grade.
+     *
+     * @param courses The course IDs of the grade.
+     * @param id      The ID of the course to add.
+     * @return true if the course was added, false if the grade has no empty slot.
+     */
+    static boolean addToFirstEmptySlot(int[] courses, int id) {
+        for (int i = 0; i < courses.length; i++) {
+            if (courses[i] == CourseCatalog.NO_COURSE) {
+                courses[i] = id;
+                return true;
             }
         }
+        return false;
     }
 
     /**
      * Adds a course to the student's list of recommended courses if the student
      * meets the grade level requirements and there is space in the grade-level list.
      *
-     * @param student The student to add the course to.
+     * @param context The assessment to add the course to.
      */
-    private void addCourse(UserInput student) {
-        int studentGrade = student.getGrade();
+    private void addCourse(RecommendationContext context) {
+        int studentGrade = context.getStudent().getGrade();
         int courseGrade = getGradeLevel();
 
-        String courseCode = getCourseCode();
-
         if (courseGrade >= studentGrade) {
-            String[] coursesForGrade = recommendedCoursesByGrade.get(courseGrade);
+            int[] coursesForGrade = context.getRecommendedCoursesByGrade().get(courseGrade);
 
-            if (Arrays.asList(coursesForGrade).contains(courseCode)) {
+            if (containsCourse(coursesForGrade, id)) {
                 return; // does not add duplicates
             }
 
             // Adds the course to the empty slot
-            for (int i = 0; i < MAX_COURSES_PER_GRADE; i++) {
-                if (coursesForGrade[i] == null) {
-                    coursesForGrade[i] = courseCode;
-                    break;
-                }
-            }
+            addToFirstEmptySlot(coursesForGrade, id);
         }
     }
 
@@ -231,18 +280,24 @@ public class Course {
     /**
      * Fulfills graduation requirements by adding recommended courses to the student's
      * course list based on their grade and the graduation requirements.
+     *
+     * @param context The assessment to add the courses to.
      */
-    public static void fulfillGradRequirements() {
+    public static void fulfillGradRequirements(RecommendationContext context) {
+        CourseCatalog catalog = context.getCatalog();
+        Map<Integer, int[]> recommendedCoursesByGrade = context.getRecommendedCoursesByGrade();
 
-        String[] courses = findUnfulfilledCredits();
+        GraduationCredits credits = context.getCredits();
+        GraduationRequirements requirements = credits.getRequirements();
 
         // Track recommended courses and grad credits to avoid duplicates
-        Set<String> recommendedCourses = new HashSet<>();
-        Set<String> recommendedGradCredits = new HashSet<>();
+        BitSet recommendedCourses = new BitSet(catalog.size());
+        BitSet recommendedGradCredits = new BitSet(requirements.size());
 
-        List<Integer> openSpots = findOpenSpotsInRecommendedCourses(); // Start with the initial course grades
+        List<Integer> openSpots = findOpenSpotsInRecommendedCourses(recommendedCoursesByGrade); // Start with the initial course grades
 
-        for (String course : courses) {
+        for (PrimitiveIterator.OfInt unfulfilled = credits.unfulfilled(); unfulfilled.hasNext(); ) {
+            int requirement = unfulfilled.nextInt();
             Course addedCourse = null;
             int courseGrade = 9;
 
@@ -251,7 +306,7 @@ public class Course {
                 int currentCourseGrade = openSpots.get(index);
 
                 // Attempt to add the course without prerequisites at the current grade level
-                addedCourse = findNextCourseWithNoPrerequisites(course, currentCourseGrade, recommendedCourses, recommendedGradCredits);
+                addedCourse = findNextCourseWithNoPrerequisites(catalog, requirements, requirement, currentCourseGrade, recommendedCourses, recommendedGradCredits);
 
                 if (addedCourse != null) {
                     courseGrade = currentCourseGrade;
@@ -260,35 +315,22 @@ public class Course {
             }
 
             if (addedCourse == null) {
-                System.out.println("No available grade level found for course " + course);
+                System.out.println("No available grade level found for course " + requirements.getName(requirement));
                 continue; // Move to the next course if this one can't be added
             }
 
             // Get courses for the selected grade level
-            String[] coursesForGrade = recommendedCoursesByGrade.get(courseGrade);
+            int[] coursesForGrade = recommendedCoursesByGrade.get(courseGrade);
 
             // Add to recommended courses set
-            recommendedCourses.add(addedCourse.getCourseCode());
-            recommendedGradCredits.add(course);
+            recommendedCourses.set(addedCourse.getId());
+            recommendedGradCredits.set(requirement);
 
             // Subtract credit for the added course
-            if (credits.containsKey(addedCourse.getCourseArea()) && credits.get(addedCourse.getCourseArea()) > 0) {
-                credits.put(addedCourse.getCourseArea(), credits.get(addedCourse.getCourseArea()) - 1);
-            } else if (credits.containsKey(addedCourse.getGraduationRequirement()) && credits.get(addedCourse.getGraduationRequirement()) > 0) {
-                credits.put(addedCourse.getGraduationRequirement(), credits.get(addedCourse.getGraduationRequirement()) - 1);
-            }
+            context.useCredit(addedCourse);
 
             // Adds the course to the first available slot in the grade
-            boolean added = false;
-            for (int i = 0; i < MAX_COURSES_PER_GRADE; i++) {
-                if (coursesForGrade[i] == null) {
-                    coursesForGrade[i] = addedCourse.getCourseCode();
-                    added = true;
-                    break;
-                }
-            }
-
-            if (!added) {
+            if (!addToFirstEmptySlot(coursesForGrade, addedCourse.getId())) {
                 System.out.println("No space available to add course for grade level " + courseGrade);
             }
         }
@@ -301,20 +343,20 @@ public class Course {
      * and grade level, avoiding duplicates in the recommended courses and graduation
      * credits lists.
      *
-     * @param courseArea The area of study (e.g., Math, Science).
+     * @param catalog The course catalog to search.
+     * @param requirements The graduation requirements of the plan.
+     * @param requirement The requirement to fulfill, a course area (e.g., Arts) or a graduation requirement group.
      * @param courseGrade The grade level of the course.
-     * @param recommendedCourses A set of already recommended courses.
-     * @param recommendedGradCredits A set of graduation requirements already fulfilled.
+     * @param recommendedCourses The IDs of the already recommended courses.
+     * @param recommendedGradCredits The graduation requirements already fulfilled.
      * @return The next available course without prerequisites.
      */
-    private static Course findNextCourseWithNoPrerequisites(String courseArea, int courseGrade, Set<String> recommendedCourses, Set<String> recommendedGradCredits) {
-        for (Map.Entry<String, Course> entry : courseMap.entrySet()) {
-            Course course = entry.getValue();
-            if ((course.getCourseArea().equalsIgnoreCase(courseArea) || course.getGraduationRequirement().equalsIgnoreCase(courseArea))
-                    && course.getPrerequisites().equalsIgnoreCase("none")
-                    && !recommendedCourses.contains(course.getCourseCode())
-                    && !recommendedGradCredits.contains(course.getCourseArea())
-                    && courseGrade == course.getGradeLevel()) {
+    private static Course findNextCourseWithNoPrerequisites(CourseCatalog catalog, GraduationRequirements requirements, int requirement, int courseGrade, BitSet recommendedCourses, BitSet recommendedGradCredits) {
+        // The catalog index only holds courses in this grade without prerequisites that match the area or requirement
+        for (Course course : catalog.getCoursesWithoutPrerequisites(courseGrade, requirements.getName(requirement))) {
+            int areaRequirement = requirements.getRequirement(course.getCourseAreaId());
+            if (!recommendedCourses.get(course.getId())
+                    && (areaRequirement == GraduationRequirements.NONE || !recommendedGradCredits.get(areaRequirement))) {
                 return course;
             }
         }
@@ -323,21 +365,17 @@ public class Course {
 
     /**
      * Finds the grades in which there are open spots in the recommended courses list.
-     * An open spot is represented by a null value in the course array for a specific grade.
+     * An open spot is represented by {@link CourseCatalog#NO_COURSE} in the course array for a specific grade.
      *
+     * @param recommendedCoursesByGrade The course IDs of each grade.
      * @return A list of grades that have at least one open spot for courses.
      */
-    private static List<Integer> findOpenSpotsInRecommendedCourses() {
+    private static List<Integer> findOpenSpotsInRecommendedCourses(Map<Integer, int[]> recommendedCoursesByGrade) {
         List<Integer> openGrades = new ArrayList<>();
 
-        for (Map.Entry<Integer, String[]> entry : recommendedCoursesByGrade.entrySet()) {
-            String[] courses = entry.getValue();
-
-            for (String course : courses) {
-                if (course == null) {
-                    openGrades.add(entry.getKey());
-                    break; // Move to the next grade after finding an open spot in the current one
-                }
+        for (Map.Entry<Integer, int[]> entry : recommendedCoursesByGrade.entrySet()) {
+            if (containsCourse(entry.getValue(), CourseCatalog.NO_COURSE)) {
+                openGrades.add(entry.getKey());
             }
         }
 
@@ -345,160 +383,184 @@ public class Course {
     }
 
     /**
-     * Identifies which credit areas have unfulfilled requirements.
-     * A credit is considered unfulfilled if its value is greater than zero in the credits map.
-     *
-     * @return An array of credit names that still need to be fulfilled.
-     */
-    private static String[] findUnfulfilledCredits() {
-        ArrayList<String> result = new ArrayList<>();
-        for (Map.Entry<String, Integer> entry : credits.entrySet()) {
-            if (entry.getValue() > 0) {
-                result.add(entry.getKey());
-            }
-        }
-        return result.toArray(new String[0]);
-    }
-
-    /**
-     * Displays a form to allow the user to fill in missing classes in their recommended course list.
-     * If there are no missing courses, the method exits without action.
+     * Checks if the plan of an assessment still has empty slots.
      *
-     * @param student The student object containing user input data.
+     * @param context The assessment to check.
+     * @return true if any grade has an empty slot, false otherwise.
      */
-    public static void addNonFilledClasses(UserInput student) {
-        boolean hasNull = recommendedCoursesByGrade.values().stream()
-                .flatMap(Arrays::stream)
-                .anyMatch(Objects::isNull);
-
-        if (!hasNull) {
-            return;
-        }
-
-        CountDownLatch latch = new CountDownLatch(1);
-
-        FormsManager.getInstance().showForm(new FillCourses(student, latch));
-
-        try {
-            latch.await();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            e.printStackTrace();
-        }
+    public static boolean hasEmptySlots(RecommendationContext context) {
+        return context.getRecommendedCoursesByGrade().values().stream()
+                .anyMatch(courses -> containsCourse(courses, CourseCatalog.NO_COURSE));
     }
 
     /**
      * Processes the response from the user to fill missing classes in the recommended course list.
      *
-     * @param student         The student object containing user input data.
+     * <p>Each empty slot is first filled from the courses the API recommends for the response. Otherwise, the
+     * candidate courses for the grade and track are shuffled once and taken in a single pass, skipping courses
+     * already in the grade and areas already covered. If that pass runs out, a second pass drops the area rule,
+     * and a slot is only left empty when every candidate is already in the grade, so filling always terminates.</p>
+     *
+     * @param context         The assessment whose missing classes are filled.
      * @param studentResponse The response provided by the student to fill the missing courses.
      */
-    public static void getNonFilledClassesResponse(UserInput student, String studentResponse) {
+    public static void getNonFilledClassesResponse(RecommendationContext context, String studentResponse) {
         System.out.println("filling");
+        CourseCatalog catalog = context.getCatalog();
+
+        context.getRecommendedCoursesByGrade().forEach((grade, courses) -> {
+            BitSet recommendedCourses = new BitSet(catalog.size());
+            BitSet recommendedCourseArea = new BitSet(catalog.getStringCount());
+            for (int course : courses) {
+                if (course != CourseCatalog.NO_COURSE) {
+                    recommendedCourseArea.set(catalog.getCourseAreaId(course));
+                }
+            }
 
-        recommendedCoursesByGrade.forEach((grade, courses) -> {
-            Set<String> recommendedCourses = new HashSet<>();
-            Set<String> recommendedCourseArea = Arrays.stream(courses)
-                    .map(CourseAssembly::getCourse) // Get course object for each code
-                    .filter(Objects::nonNull) // Filter out null courses
-                    .map(Course::getCourseArea) // Get the area
-                    .collect(Collectors.toSet()); // Collect areas to a set
-
+            int[] candidates = null; // Shuffled the first time a slot needs a random course
+            int next = 0;
+            int nextAnyArea = 0;
             for (int i = 0; i < courses.length; i++) {
-                if (courses[i] == null) {
-                    courses[i] = fillCourse(grade, recommendedCourses, recommendedCourseArea, courses, studentResponse, student);
+                if (courses[i] != CourseCatalog.NO_COURSE) {
+                    continue;
+                }
+
+                int id = fillCourseFromApi(context, grade, recommendedCourses, courses, studentResponse);
+                if (id == CourseCatalog.NO_COURSE) {
+                    if (candidates == null) {
+                        candidates = shuffle(catalog.getFillCandidates(grade, context.getStudent().getTrack()), context.getRandom());
+                    }
+
+                    // Courses skipped here stay unusable for this grade, so the pass never goes back
+                    while (next < candidates.length && id == CourseCatalog.NO_COURSE) {
+                        int candidate = candidates[next++];
+                        if (!containsCourse(courses, candidate) && !recommendedCourses.get(candidate)
+                                && !recommendedCourseArea.get(catalog.getCourseAreaId(candidate))) {
+                            id = candidate;
+                        }
+                    }
+                    while (nextAnyArea < candidates.length && id == CourseCatalog.NO_COURSE) {
+                        int candidate = candidates[nextAnyArea++];
+                        if (!containsCourse(courses, candidate)) {
+                            id = candidate;
+                        }
+                    }
+                    if (id == CourseCatalog.NO_COURSE) {
+                        System.out.println("No course left to fill grade " + grade);
+                        break;
+                    }
+
+                    recommendedCourses.set(id);
+                    recommendedCourseArea.set(catalog.getCourseAreaId(id));
                 }
+                courses[i] = id;
             }
         });
     }
 
     /**
-     * Fills a course for a specific grade and updates the recommended courses.
-     * Tries to retrieve courses from the API or selects a random class if no valid API courses are available.
+     * Fills a course for a specific grade from the courses the API recommends for the user's response.
      *
-     * @param grade                  The grade level for the course to be filled.
-     * @param recommendedCourses     A set of already recommended courses.
-     * @param recommendedCourseArea  A set of course areas that have been recommended.
-     * @param courses                The array of courses for the grade.
-     * @param response               The user's response for filling courses.
-     * @param studentInput           The student's input containing details like track.
-     * @return The course code of the filled course, or "E404" if no suitable course is found.
-     */
-    private static String fillCourse(int grade, Set<String> recommendedCourses, Set<String> recommendedCourseArea, String[] courses, String response, UserInput studentInput) {
-        if (!response.isEmpty()) {
-            if (!hasAPI.get()) {
-                apiCourses = APIClient.getAPIDataClasses(response);
-                hasAPI.set(!apiCourses.isEmpty());
-            }
-
-            List<String> filteredApiCourses = apiCourses.stream()
-                    .filter(courseCode -> {
-                        Course course = getCourse(courseCode);
-                        return course != null && course.getGradeLevel() == grade
-                                && !Arrays.asList(courses).contains(courseCode)
-                                && (course.getTrack().equalsIgnoreCase(studentInput.getTrack()) || course.getTrack().equalsIgnoreCase("Open"));
-                    })
-                    .toList();
-
-            if (!filteredApiCourses.isEmpty()) {
-                for (String courseCode : filteredApiCourses) {
-                    Course course = getCourse(courseCode);
-                    if (course != null && !recommendedCourses.contains(course.getCourseCode())) {
-                        recommendedCourses.add(course.getCourseCode());
-                        return course.getCourseCode();
-                    }
-                }
-            }
+     * @param context            The assessment the course is filled for.
+     * @param grade              The grade level for the course to be filled.
+     * @param recommendedCourses The IDs of the already recommended courses.
+     * @param courses            The course IDs of the grade.
+     * @param response           The user's response for filling courses.
+     * @return The ID of the filled course, or {@link CourseCatalog#NO_COURSE} if the API has no suitable course.
+     */
+    private static int fillCourseFromApi(RecommendationContext context, int grade, BitSet recommendedCourses, int[] courses, String response) {
+        if (response.isEmpty()) {
+            return CourseCatalog.NO_COURSE;
         }
 
-        Random random = new Random();
-        List<String> filteredKeys = courseMap.entrySet().stream()
-                .filter(entry -> entry.getValue().getGradeLevel() == grade)
-                .filter(entry -> (entry.getValue().getTrack().equalsIgnoreCase(studentInput.getTrack()) || entry.getValue().getTrack().equalsIgnoreCase("Open")))
-                .filter(entry -> !Arrays.asList(courses).contains(entry.getValue().getCourseCode()))
-                .map(Map.Entry::getKey)
-                .toList();
+        CourseCatalog catalog = context.getCatalog();
+        String studentTrack = context.getStudent().getTrack();
+
+        // The API is only called again if it has not returned any course yet
+        if (context.getApiCourses() == null || context.getApiCourses().length == 0) {
+            context.setApiCourses(toCourseIds(catalog, APIClient.getAPIDataClasses(response)));
+        }
 
-        if (filteredKeys.isEmpty()) {
-            return "E404";
+        for (int id : context.getApiCourses()) {
+            String track = catalog.getTrack(id);
+            if (catalog.getGradeLevel(id) == grade
+                    && !containsCourse(courses, id)
+                    && (track.equalsIgnoreCase(studentTrack) || track.equalsIgnoreCase("Open"))
+                    && !recommendedCourses.get(id)) {
+                recommendedCourses.set(id);
+                return id;
+            }
         }
+        return CourseCatalog.NO_COURSE;
+    }
 
-        String randomKey;
-        String courseArea;
-        do {
-            randomKey = filteredKeys.get(random.nextInt(filteredKeys.size()));
-            courseArea = courseMap.get(randomKey).getCourseArea();
-        } while (recommendedCourses.contains(randomKey) || recommendedCourseArea.contains(courseArea));
+    /**
+     * Shuffles a copy of an array of course IDs with the Fisher-Yates algorithm.
+     *
+     * @param ids    The course IDs.
+     * @param random The random number generator deciding the order.
+     * @return A shuffled copy of the IDs.
+     */
+    private static int[] shuffle(int[] ids, Random random) {
+        int[] shuffled = ids.clone();
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        return shuffled;
+    }
 
-        recommendedCourses.add(randomKey);
-        recommendedCourseArea.add(courseArea);
-        return randomKey;
+    /**
+     * Looks up the IDs of a list of course codes, dropping codes that are not in the catalog.
+     *
+     * @param catalog     The course catalog to look the codes up in.
+     * @param courseCodes The course codes.
+     * @return The IDs of the courses, in the same order as the codes.
+     */
+    static int[] toCourseIds(CourseCatalog catalog, List<String> courseCodes) {
+        return courseCodes.stream()
+                .mapToInt(catalog::getId)
+                .filter(id -> id != CourseCatalog.NO_COURSE)
+                .toArray();
     }
 
 
     /**
      * Writes the recommended courses for a student to a file in JSON format.
      *
-     * @param studentInput The student whose recommended courses are being written.
+     * @param context The assessment whose recommended courses are being written.
      */
-    public static void writeRecommendedCoursesToFileCourseName(UserInput studentInput) {
+    public static void writeRecommendedCoursesToFileCourseName(RecommendationContext context) {
+        writeRecommendedCoursesToFileCourseName(context, "src/main/resources/user_class_info");
+    }
+
+    /**
+     * Writes the recommended courses for a student to a file in JSON format, in the given directory.
+     *
+     * @param context   The assessment whose recommended courses are being written.
+     * @param directory The directory the file is written to.
+     * @return true if the file was written, false otherwise.
+     */
+    public static boolean writeRecommendedCoursesToFileCourseName(RecommendationContext context, String directory) {
+        CourseCatalog catalog = context.getCatalog();
         try {
-            String username = studentInput.getUsername();
+            String username = context.getStudent().getUsername();
 
             // Construct file path based on the username
-            String filePath = "src/main/resources/user_class_info/recommended_course_name_" + username + ".json";
+            String filePath = directory + "/recommended_course_name_" + username + ".json";
 
             ObjectMapper mapper = new ObjectMapper();
             mapper.enable(SerializationFeature.INDENT_OUTPUT);
 
             List<Map<String, Object>> coursesList = new ArrayList<>();
-            for (Map.Entry<Integer, String[]> entry : recommendedCoursesByGrade.entrySet()) {
+            for (Map.Entry<Integer, int[]> entry : context.getRecommendedCoursesByGrade().entrySet()) {
                 Map<String, Object> courseMap = new HashMap<>();
                 List<String> courseNames = new ArrayList<>();
-                for (String c : entry.getValue()) {
-                    Course course = getCourse(c);
-                    if (course != null) {
-                        courseNames.add(String.format("%s - %s",course.getCourseCode(), course.getCourseName()));
+                for (int id : entry.getValue()) {
+                    if (id != CourseCatalog.NO_COURSE) {
+                        courseNames.add(String.format("%s - %s", catalog.getCourseCode(id), catalog.getCourseName(id)));
                     }
                 }
                 String coursesString = String.join(",** ", courseNames);
@@ -510,36 +572,43 @@ public class Course {
             // Write to the JSON file based on the constructed file path
             mapper.writeValue(new File(filePath), coursesList);
             System.out.println("Recommended courses written to " + filePath);
+            return true;
 
         } catch (IOException e) {
             System.err.println("Error writing recommended courses to file: " + e.getMessage());
+            return false;
         }
     }
 
     /**
-     * Sorts each String array in the recommendedCoursesByGrade map in alphabetical order using Insertion Sort.
+     * Sorts the courses of each grade in the plan by course code using Insertion Sort.
+     * Empty slots are moved to the end.
+     *
+     * @param context The assessment whose plan is sorted.
      */
-    public static void sortCoursesByGrade() {
+    public static void sortCoursesByGrade(RecommendationContext context) {
         // Iterate through each entry in the map
-        for (Map.Entry<Integer, String[]> entry : recommendedCoursesByGrade.entrySet()) {
-            String[] courses = entry.getValue();
+        for (Map.Entry<Integer, int[]> entry : context.getRecommendedCoursesByGrade().entrySet()) {
+            int[] courses = entry.getValue();
             // Sort the array using Insertion Sort
-            insertionSort(courses);
+            insertionSort(context.getCatalog(), courses);
         }
     }
 
     /**
-     * Insertion Sort algorithm to sort a String array in alphabetical order.
+     * Insertion Sort algorithm to sort course IDs in alphabetical order of their course codes,
+     * with {@link CourseCatalog#NO_COURSE} sorted last.
      *
-     * @param array The String array to be sorted.
+     * @param catalog The course catalog to look up course codes in.
+     * @param array   The course IDs to be sorted.
      */
-    public static void insertionSort(String[] array) {
+    public static void insertionSort(CourseCatalog catalog, int[] array) {
         for (int i = 1; i < array.length; i++) {
-            String key = array[i];
+            int key = array[i];
             int j = i - 1;
 
             // Move elements of array[0..i-1] that are greater than key, to one position ahead
-            while (j >= 0 && array[j].compareTo(key) > 0) {
+            while (j >= 0 && compareCourseCodes(catalog, array[j], key) > 0) {
                 array[j + 1] = array[j];
                 j = j - 1;
             }
@@ -549,11 +618,26 @@ public class Course {
         }
     }
 
+    /**
+     * Compares two courses by course code, with {@link CourseCatalog#NO_COURSE} after every course.
+     *
+     * @param catalog The course catalog to look up course codes in.
+     * @param a       The ID of the first course.
+     * @param b       The ID of the second course.
+     * @return A negative number, zero or a positive number as the first course sorts before, with or after the second.
+     */
+    private static int compareCourseCodes(CourseCatalog catalog, int a, int b) {
+        if (a == CourseCatalog.NO_COURSE || b == CourseCatalog.NO_COURSE) {
+            return Boolean.compare(a == CourseCatalog.NO_COURSE, b == CourseCatalog.NO_COURSE);
+        }
+        return catalog.getCourseCode(a).compareTo(catalog.getCourseCode(b));
+    }
+
     /**
      * Reads the recommended courses for a student from a JSON file.
      * The file is named based on the student's username and is located in
-     * the "src/main/resources/user_class_info" directory. The method populates
-     * the `recommendedCoursesByGrade` map with the data from the file.
+     * the "src/main/resources/user_class_info" directory. The dashboard displays
+     * the file as written, so the method only checks that it holds recommendations.
      *
      * @param username The student's username used to construct the file path.
      * @return true if the file was read successfully and contains valid data, false otherwise.
@@ -575,10 +659,6 @@ public class Course {
                 return false;
             }
 
-            for (FileCourseData courseData : courseDataList) {
-                recommendedCoursesByGrade.put(courseData.getGrade(), courseData.getCourses().split(", "));
-            }
-
         } catch (IOException e) {
             System.out.println("Error reading file: " + filePath);
             e.printStackTrace();
@@ -592,15 +672,16 @@ public class Course {
      * Runs the engine for each course in the provided list of courses from the user interests.
      * The engine processes the student's input for each course.
      *
+     * @param context The assessment to add the courses to.
      * @param courses The list of course names to be processed.
-     * @param student The student whose input will be used in the engine.
      */
-    public static void runEngine(ArrayList<String> courses, UserInput student) {
-        for (String c : courses) {
-            Course course = getCourse(c);
-            if (course != null) {
-                course.engine(student);
-            }
+    public static void runEngine(RecommendationContext context, ArrayList<String> courses) {
+        CourseCatalog catalog = context.getCatalog();
+        BitSet eligible = findEligibleCourses(catalog, context.getStudent());
+        BitSet chain = new BitSet(catalog.size());
+
+        for (int id : toCourseIds(catalog, courses)) {
+            catalog.getCourse(id).engine(context, eligible, chain);
         }
     }
 
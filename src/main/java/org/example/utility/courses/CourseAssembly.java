@@ -2,12 +2,17 @@ package org.example.utility.courses;
 
 import org.example.people.UserInput;
 import org.example.utility.api.APIClient;
+import org.example.utility.api.InterestPrefetcher;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 /**
  * The CourseAssembly class is responsible for managing course data,
@@ -16,16 +21,14 @@ import java.util.stream.IntStream;
  */
 public class CourseAssembly {
     /**
-     * A static map that holds courses by their course code.
-     * The course code is the key, and the course object is the value.
+     * The threads running the stages of assessments, kept separate from the common pool
+     * because the API stage blocks on the network.
      */
-    protected static Map<String, Course> courseMap = new HashMap<>();
-
-    /**
-     * A static map that stores recommended courses for each grade.
-     * The grade is the key, and the value is an array of recommended course names.
-     */
-    public static Map<Integer, String[]> recommendedCoursesByGrade = new HashMap<>();
+    private static final ExecutorService ASSESSMENT_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "assessment-stage");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * A constant string representing the file path where user credentials are stored.
@@ -34,78 +37,53 @@ public class CourseAssembly {
     public static final String CREDENTIALS_FILE = "C:\\Users\\fence\\OneDrive\\Desktop\\credentials.txt";
 
     /**
-     * A static HashMap that stores course categories and their corresponding credit values.
-     * Each entry in the map represents a specific course or course group and its associated credit value.
+     * Retrieves the threads running the stages of assessments, for stages started outside this class (such as a
+     * fill policy) that may block on the API or on the student.
      *
-     * The keys represent course categories (e.g., "Arts", "Health and Physical Education", etc.),
-     * and the values represent the number of credits awarded for completing the course or category.
-     */    public static HashMap<String, Integer> credits = new HashMap<>() {{
-        put("Arts", 1); // 1 credit in the Arts
-        put("Health & Physical Education", 1); // 1 credit in Health and Physical Education
-        put("French", 1); // 1 credit in French as a Second Language
-
-        // Group credits
-        put("1.0", 1); // 1 additional credit from Group 1
-        put("2.0", 1); // 1 additional credit from Group 2
-        put("3.0", 1); // 1 additional credit from Group 3
-    }};
+     * @return The assessment executor.
+     */
+    public static Executor getAssessmentExecutor() {
+        return ASSESSMENT_EXECUTOR;
+    }
 
     /**
      * Adds initial courses to the recommended courses list based on the user's track
      * (e.g., university or college) and previously completed courses.
      *
-     * @param student The UserInput object representing the student.
+     * @param context The assessment to add the courses to.
      */
-    public static void addInitialCourses(UserInput student) {
+    public static void addInitialCourses(RecommendationContext context) {
+        CourseCatalog catalog = context.getCatalog();
+        UserInput student = context.getStudent();
+        Map<Integer, int[]> recommendedCoursesByGrade = context.getRecommendedCoursesByGrade();
+
         // Adds must take courses depending on track
+        recommendedCoursesByGrade.clear();
+        recommendedCoursesByGrade.put(9, toCourseSlots(catalog, "ENL1W", "MTH1W", "SNC1W", "CGC1W"));
+        recommendedCoursesByGrade.put(10, toCourseSlots(catalog, "ENG2D", "MPM2D", "SNC2D", "CHC2D", "CHV2O"));
         if ("university".equals(student.getTrack().toLowerCase())) {
-            recommendedCoursesByGrade = new HashMap<>() {{
-                put(9, new String[]{"ENL1W", "MTH1W", "SNC1W", "CGC1W", null, null, null, null});
-                put(10, new String[]{"ENG2D", "MPM2D", "SNC2D", "CHC2D", "CHV2O", null, null, null});
-                put(11, new String[]{"NBE3U", "MCR3U", null, null, null, null, null, null});
-                put(12, new String[]{"ENG4U", "MHF4U", "MCV4U", null, null, null, null, null});
-            }};
+            recommendedCoursesByGrade.put(11, toCourseSlots(catalog, "NBE3U", "MCR3U"));
+            recommendedCoursesByGrade.put(12, toCourseSlots(catalog, "ENG4U", "MHF4U", "MCV4U"));
         } else { // College
-            recommendedCoursesByGrade = new HashMap<>() {{
-                put(9, new String[]{"ENL1W", "MTH1W", "SNC1W", "CGC1W", null, null, null, null});
-                put(10, new String[]{"ENG2D", "MPM2D", "SNC2D", "CHC2D", "CHV2O", null, null, null});
-                put(11, new String[]{"NBE3C", "MBF3C", null, null, null, null, null, null});
-                put(12, new String[]{"ENG4C", null, null, null, null, null, null, null});
-            }};
+            recommendedCoursesByGrade.put(11, toCourseSlots(catalog, "NBE3C", "MBF3C"));
+            recommendedCoursesByGrade.put(12, toCourseSlots(catalog, "ENG4C"));
         }
         // Adds previous courses
-        List<String> previousCoursesTemp = new ArrayList<>(Arrays.asList(Course.cleanPreviousCourses(student.getPreviousCourses())));
-        ArrayList<String> previousCourses = new ArrayList<>();
-        for (String course : previousCoursesTemp) {
-            String courseCode = course.split(" - ")[0];
-            previousCourses.add(courseCode);
-        }
+        List<String> previousCourses = Course.getPreviousCourseCodes(student);
         previousCourses.forEach(courseCode -> {
-            Course course = getCourse(courseCode);
+            Course course = catalog.getCourse(courseCode);
 
             if (course != null) {
                 int courseGradeLevel = course.getGradeLevel();
-                String courseType = course.getCourseArea();
-                String gradRequirement = course.getGraduationRequirement();
 
                 // Finds courses that would fill a credit
-                String[] coursesArray = recommendedCoursesByGrade.get(courseGradeLevel);
+                int[] coursesArray = recommendedCoursesByGrade.get(courseGradeLevel);
                 if (coursesArray != null) {
-                    boolean courseAlreadyAdded = Arrays.stream(coursesArray)
-                            .filter(Objects::nonNull)
-                            .anyMatch(existingCourseCode -> existingCourseCode.equals(course.getCourseCode()));
                     // Add the course to the first spot in the array
-                    if (!courseAlreadyAdded) {
-                        IntStream.range(0, coursesArray.length)
-                                .filter(i -> coursesArray[i] == null)
-                                .findFirst()
-                                .ifPresent(index -> coursesArray[index] = course.getCourseCode());
+                    if (!Course.containsCourse(coursesArray, course.getId())) {
+                        Course.addToFirstEmptySlot(coursesArray, course.getId());
                         // Change the course credit
-                        if (credits.containsKey(courseType) && credits.get(courseType) > 0) {
-                            credits.put(courseType, credits.get(courseType) - 1);
-                        } else if (credits.containsKey(gradRequirement) && credits.get(gradRequirement) > 0) {
-                            credits.put(gradRequirement, credits.get(gradRequirement) - 1);
-                        }
+                        context.useCredit(course);
                     }
                 }
             }
@@ -113,21 +91,24 @@ public class CourseAssembly {
     }
 
     /**
-     * Constructor for the CourseAssembly class.
-     * Loads the course data from the ExcelUtility.
-     */
-    public CourseAssembly() {
-        ExcelUtility.loadCourseData();
-    }
-
-    /**
-     * Retrieves a course from the course map based on its course code.
+     * Builds the course slots of a grade, starting with the given must take courses.
      *
-     * @param courseCode The course code to search for.
-     * @return The Course object, or null if not found.
+     * @param catalog     The course catalog to look up courses in.
+     * @param courseCodes The codes of the must take courses.
+     * @return The course IDs of the grade, with the remaining slots empty.
      */
-    public static Course getCourse(String courseCode) {
-        return courseMap.get(courseCode);
+    private static int[] toCourseSlots(CourseCatalog catalog, String... courseCodes) {
+        int[] courses = new int[Course.MAX_COURSES_PER_GRADE];
+        Arrays.fill(courses, CourseCatalog.NO_COURSE);
+        for (String courseCode : courseCodes) {
+            int id = catalog.getId(courseCode);
+            if (id == CourseCatalog.NO_COURSE) {
+                System.out.println("Must take course not found in catalog: " + courseCode);
+                continue;
+            }
+            Course.addToFirstEmptySlot(courses, id);
+        }
+        return courses;
     }
 
     /**
@@ -153,18 +134,131 @@ public class CourseAssembly {
 
     /**
      * Runs the course recommendation and assessment process for a student.
+     * The assessment runs in the background and never waits on the UI: empty slots are handed to the fill policy,
+     * and the plan is sorted and written once the policy is done.
+     *
+     * @param student    The UserInput object representing the student.
+     * @param fillPolicy How the empty slots left in the plan are filled.
+     * @return A future completed with the finished assessment once its plan is written.
+     */
+    public static CompletableFuture<RecommendationContext> runAssessment(UserInput student, FillPolicy fillPolicy) {
+        Supplier<CompletableFuture<ArrayList<String>>> apiCourses = () -> {
+            // The quiz usually started the lookup already, otherwise it starts now
+            CompletableFuture<ArrayList<String>> prefetched = InterestPrefetcher.take(student);
+            return prefetched != null ? prefetched : APIClient.getAPIDataClassesAsync(student.getInterests());
+        };
+
+        return buildPlanAsync(student, apiCourses)
+                .thenCompose(context -> Course.hasEmptySlots(context)
+                        ? fillPolicy.fill(context).thenApply(ignored -> context)
+                        : CompletableFuture.completedFuture(context))
+                .thenApplyAsync(context -> {
+                    Course.sortCoursesByGrade(context);
+                    Course.writeRecommendedCoursesToFileCourseName(context);
+                    return context;
+                }, ASSESSMENT_EXECUTOR);
+    }
+
+    /**
+     * Builds the plan of a student as a pipeline of stages, so the API call overlaps with the requirement work.
+     *
+     * <p>The catalog is loaded first and the student's profile is looked up in the {@link RecommendationCache}.
+     * The API call does not start until then, so that a hit never calls it: the cached plan is used right away and
+     * a lookup prefetched by the quiz is cancelled. On a miss the API call is started, and the must take courses and
+     * the graduation credits, which do not depend on the API, are filled while it is in flight. A lookup the quiz
+     * prefetched is usually under way long before, so waiting for the catalog rarely delays it. The two branches merge at {@link Course#runEngine},
+     * which needs both the plan and the API result. The plan is cached unless the API result is a fallback
+     * (see {@link APIClient#isFallback(List)}).</p>
+     *
+     * @param student    The student being assessed.
+     * @param apiCourses Starts the lookup of the course codes the API recommends for the student's interests,
+     *                   only called if the profile is not cached.
+     * @return A future completed with the assessment, with its plan built up to the point where empty slots are filled.
+     */
+    public static CompletableFuture<RecommendationContext> buildPlanAsync(UserInput student, Supplier<CompletableFuture<ArrayList<String>>> apiCourses) {
+        // Every stage of the assessment works on the same catalog snapshot and its own plan
+        CompletableFuture<CourseCatalog> catalogStage = CompletableFuture.supplyAsync(CourseCatalog::getInstance, ASSESSMENT_EXECUTOR);
+
+        return catalogStage.thenCompose(catalog -> buildPlanAsync(catalog, student, apiCourses));
+    }
+
+    /**
+     * Builds the plan of a student against a catalog snapshot that is already loaded, as a pipeline of stages.
      *
-     * @param student The UserInput object representing the student.
+     * @param catalog    The catalog snapshot the assessment runs against.
+     * @param student    The student being assessed.
+     * @param apiCourses Starts the lookup of the course codes the API recommends for the student's interests,
+     *                   only called if the profile is not cached.
+     * @return A future completed with the assessment, with its plan built up to the point where empty slots are filled.
+     * @see #buildPlanAsync(UserInput, Supplier)
      */
-    public static void runAssessment(UserInput student) {
-        new CourseAssembly();
+    public static CompletableFuture<RecommendationContext> buildPlanAsync(CourseCatalog catalog, UserInput student, Supplier<CompletableFuture<ArrayList<String>>> apiCourses) {
+        RecommendationCache cache = RecommendationCache.getInstance();
+        String key = RecommendationCache.key(catalog, student);
+        RecommendationContext cached = cache.get(key, catalog, student);
+        if (cached != null) {
+            InterestPrefetcher.discard(student); // The cached plan already holds the API result
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<ArrayList<String>> apiStage = apiCourses.get();
+        CompletableFuture<RecommendationContext> requirementStage = CompletableFuture.supplyAsync(() -> {
+            RecommendationContext context = new RecommendationContext(catalog, student);
+            CourseAssembly.addInitialCourses(context);
+            Course.fulfillGradRequirements(context);
+            return context;
+        }, ASSESSMENT_EXECUTOR);
+
+        // Merged on the assessment executor: the API result may complete on an HTTP thread, which the engine
+        // and the cache would otherwise hold up
+        return requirementStage.thenCombineAsync(apiStage, (context, courses) -> {
+            Course.runEngine(context, courses);
+            if (!APIClient.isFallback(courses)) {
+                cache.put(key, context); // A plan built without the API is rebuilt once the API answers again
+            }
+            return context;
+        }, ASSESSMENT_EXECUTOR);
+    }
+
+    /**
+     * Builds the plan of a student up to the point where empty slots have to be filled, using the courses the API
+     * recommends for the student's interests. Students with the same profile share one cached plan, so the API
+     * call and the engine only run for the first of them. A plan built while no API answered is not cached.
+     *
+     * @param catalog The catalog snapshot the assessment runs against.
+     * @param student The student being assessed.
+     * @return The assessment, with its plan built so far.
+     */
+    public static RecommendationContext buildPlan(CourseCatalog catalog, UserInput student) {
+        RecommendationCache cache = RecommendationCache.getInstance();
+        String key = RecommendationCache.key(catalog, student);
+        RecommendationContext context = cache.get(key, catalog, student);
+        if (context != null) {
+            return context;
+        }
 
         ArrayList<String> courses = APIClient.getAPIDataClasses(student.getInterests());
-        CourseAssembly.addInitialCourses(student);
-        Course.fulfillGradRequirements();
-        Course.runEngine(courses, student);
-        Course.addNonFilledClasses(student);
-        Course.sortCoursesByGrade();
-        Course.writeRecommendedCoursesToFileCourseName(student);
+        context = buildPlan(catalog, student, courses);
+        if (!APIClient.isFallback(courses)) {
+            cache.put(key, context); // A plan built without the API is rebuilt once the API answers again
+        }
+        return context;
+    }
+
+    /**
+     * Builds the plan of a student up to the point where empty slots have to be filled:
+     * the must take courses, the graduation credits and the courses recommended from the student's interests.
+     *
+     * @param catalog The catalog snapshot the assessment runs against.
+     * @param student The student being assessed.
+     * @param courses The course codes recommended from the student's interests.
+     * @return The assessment, with its plan built so far.
+     */
+    public static RecommendationContext buildPlan(CourseCatalog catalog, UserInput student, ArrayList<String> courses) {
+        RecommendationContext context = new RecommendationContext(catalog, student);
+        CourseAssembly.addInitialCourses(context);
+        Course.fulfillGradRequirements(context);
+        Course.runEngine(context, courses);
+        return context;
     }
 }
\ No newline at end of file
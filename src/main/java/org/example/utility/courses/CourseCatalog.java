@@ -0,0 +1,672 @@
+package org.example.utility.courses;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The CourseCatalog class is an immutable snapshot of every course offered,
+ * shared by the recommendation engine, the dashboard and the quiz.
+ *
+ * <p>The catalog is loaded once per process and handed to the code that needs it,
+ * so the course data is never parsed more than once and can be read from any thread without locking.
+ * When the course data changes, {@link #reload()} builds a new catalog and publishes it with a single atomic swap:
+ * code holding the old catalog keeps a consistent view, and every later {@link #getInstance()} sees the new one.</p>
+ *
+ * <p>The catalog also builds secondary indexes when it is created, so the queries the recommendation engine runs
+ * for every credit and every empty slot (by grade and track, grade and area, grade and graduation requirement,
+ * and courses without prerequisites) are bucket lookups instead of scans over every course.</p>
+ *
+ * <p>Every course is given an int ID, assigned in topological order of the prerequisite graph
+ * (a prerequisite always has a lower ID than the courses that require it), and the full prerequisite chain
+ * of each course is precomputed as a bit set of IDs. Cyclic prerequisites in the course data are cut
+ * when the graph is built.</p>
+ */
+public final class CourseCatalog {
+    /**
+     * The catalog shared by the whole application, loaded on first use and replaced on reload.
+     */
+    private static final AtomicReference<CourseCatalog> instance = new AtomicReference<>();
+
+    /**
+     * The version of the course data this catalog was built from.
+     */
+    private final long version;
+
+    /**
+     * The courses keyed by course code, in the order they appear in the course data.
+     */
+    private final Map<String, Course> courses;
+
+    /**
+     * The display name of every course, formatted as "CourseCode - CourseName".
+     */
+    private final String[] courseNames;
+
+    /**
+     * The display names of the courses in each grade, keyed by grade level.
+     */
+    private final Map<Integer, String[]> courseNamesByGrade;
+
+    /**
+     * The courses keyed by grade level and track.
+     */
+    private final Map<String, List<Course>> coursesByGradeAndTrack;
+
+    /**
+     * The courses keyed by grade level and course area.
+     */
+    private final Map<String, List<Course>> coursesByGradeAndArea;
+
+    /**
+     * The courses keyed by grade level and graduation requirement.
+     */
+    private final Map<String, List<Course>> coursesByGradeAndRequirement;
+
+    /**
+     * The courses without prerequisites, keyed by grade level and both their course area and graduation requirement.
+     */
+    private final Map<String, List<Course>> coursesWithoutPrerequisites;
+
+    /**
+     * The courses indexed by ID, in topological order of the prerequisite graph.
+     * Each course is a thin view over the columns below.
+     */
+    private final Course[] coursesById;
+
+    /**
+     * The ID of every course, keyed by course code.
+     */
+    private final Map<String, Integer> ids;
+
+    /**
+     * The string dictionary the area, requirement and prerequisite columns index into.
+     */
+    private final String[] strings;
+
+    /**
+     * The track names the track column indexes into.
+     */
+    private final String[] trackNames;
+
+    // Course columns, indexed by ID
+    private final String[] courseCodes;
+    private final String[] courseNamesById;
+    private final int[] gradeLevels;
+    private final byte[] tracks;
+    private final int[] courseAreas;
+    private final int[] graduationRequirements;
+    private final int[] prerequisites;
+    private final int[] interestTags;
+
+    /**
+     * The ID of the prerequisite of each course, or {@link #NO_COURSE} if it has none.
+     */
+    private final int[] prerequisiteIds;
+
+    /**
+     * The prerequisite chain of each course: the course itself and all of its direct and indirect prerequisites.
+     */
+    private final BitSet[] prerequisiteChains;
+
+    /**
+     * The IDs of the courses empty slots can be filled with, keyed by grade level and track.
+     * Computed the first time each grade and track is filled.
+     */
+    private final Map<String, int[]> fillCandidates = new ConcurrentHashMap<>();
+
+    /**
+     * The graduation requirements, compiled against the string dictionary.
+     */
+    private final GraduationRequirements requirements;
+
+    /**
+     * The index matching interests to courses without the recommendation API.
+     */
+    private final InterestMatcher interestMatcher;
+
+    /**
+     * The ID used when there is no course, e.g. for a course without a prerequisite.
+     */
+    public static final int NO_COURSE = -1;
+
+    /**
+     * Constructs a catalog over the given course rows.
+     * If two rows share a course code, the last one wins.
+     *
+     * @param table   The course rows to put in the catalog.
+     * @param version The version of the course data the courses were read from.
+     */
+    CourseCatalog(CourseTable table, long version) {
+        this.version = version;
+        this.strings = table.getStrings();
+        this.requirements = GraduationRequirements.compile(strings);
+
+        // Keep the last row of each course code, in the position where the code first appeared
+        Map<String, Integer> rowsByCode = new LinkedHashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            rowsByCode.put(table.getString(row, CourseTable.COURSE_CODE), row);
+        }
+        int count = rowsByCode.size();
+        int[] rows = new int[count];
+        int position = 0;
+        for (int row : rowsByCode.values()) {
+            rows[position++] = row;
+        }
+
+        // Build the prerequisite graph, with IDs in topological order
+        int[] positionPrerequisites = findPrerequisites(table, rows);
+        Integer[] order = topologicalOrder(positionPrerequisites);
+        int[] idsByPosition = new int[count];
+        for (int id = 0; id < count; id++) {
+            idsByPosition[order[id]] = id;
+        }
+
+        // Lay the columns out by ID
+        Map<String, Byte> trackIndexes = new LinkedHashMap<>();
+        this.courseCodes = new String[count];
+        this.courseNamesById = new String[count];
+        this.gradeLevels = new int[count];
+        this.tracks = new byte[count];
+        this.courseAreas = new int[count];
+        this.graduationRequirements = new int[count];
+        this.prerequisites = new int[count];
+        this.interestTags = new int[count];
+        this.prerequisiteIds = new int[count];
+        this.prerequisiteChains = new BitSet[count];
+        this.coursesById = new Course[count];
+        this.ids = new HashMap<>(count * 2);
+        for (int id = 0; id < count; id++) {
+            int row = rows[order[id]];
+            courseCodes[id] = table.getString(row, CourseTable.COURSE_CODE);
+            courseNamesById[id] = table.getString(row, CourseTable.COURSE_NAME);
+            gradeLevels[id] = table.get(row, CourseTable.GRADE_LEVEL);
+            courseAreas[id] = table.get(row, CourseTable.COURSE_AREA);
+            graduationRequirements[id] = table.get(row, CourseTable.GRADUATION_REQUIREMENT);
+            prerequisites[id] = table.get(row, CourseTable.PREREQUISITES);
+            interestTags[id] = table.get(row, CourseTable.INTEREST_TAGS);
+
+            String track = table.getString(row, CourseTable.TRACK);
+            if (!trackIndexes.containsKey(track) && trackIndexes.size() > Byte.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many tracks in course data: " + track);
+            }
+            tracks[id] = trackIndexes.computeIfAbsent(track, key -> (byte) trackIndexes.size());
+
+            int prerequisitePosition = positionPrerequisites[order[id]];
+            prerequisiteIds[id] = prerequisitePosition == NO_COURSE ? NO_COURSE : idsByPosition[prerequisitePosition];
+
+            // The prerequisite has a lower ID, so its chain is already complete
+            BitSet chain = prerequisiteIds[id] == NO_COURSE ? new BitSet(count) : (BitSet) prerequisiteChains[prerequisiteIds[id]].clone();
+            chain.set(id);
+            prerequisiteChains[id] = chain;
+
+            coursesById[id] = new Course(this, id);
+            ids.put(courseCodes[id], id);
+        }
+        this.trackNames = trackIndexes.keySet().toArray(new String[0]);
+
+        Map<String, Course> courseMap = new LinkedHashMap<>();
+        for (position = 0; position < count; position++) {
+            Course course = coursesById[idsByPosition[position]];
+            courseMap.put(course.getCourseCode(), course);
+        }
+        this.courses = Collections.unmodifiableMap(courseMap);
+
+        // Build the secondary indexes
+        List<String> names = new ArrayList<>(count);
+        Map<Integer, List<String>> namesByGrade = new HashMap<>();
+        Map<String, List<Course>> byGradeAndTrack = new HashMap<>();
+        Map<String, List<Course>> byGradeAndArea = new HashMap<>();
+        Map<String, List<Course>> byGradeAndRequirement = new HashMap<>();
+        Map<String, List<Course>> withoutPrerequisites = new HashMap<>();
+
+        for (Course course : courseMap.values()) {
+            int grade = course.getGradeLevel();
+            if (!course.getCourseName().isEmpty()) {
+                String name = course.getCourseCode() + " - " + course.getCourseName();
+                names.add(name);
+                namesByGrade.computeIfAbsent(grade, key -> new ArrayList<>()).add(name);
+            }
+
+            addToIndex(byGradeAndTrack, key(grade, course.getTrack()), course);
+            addToIndex(byGradeAndArea, key(grade, course.getCourseArea()), course);
+            addToIndex(byGradeAndRequirement, key(grade, course.getGraduationRequirement()), course);
+
+            if ("none".equalsIgnoreCase(course.getPrerequisites())) {
+                String areaKey = key(grade, course.getCourseArea());
+                String requirementKey = key(grade, course.getGraduationRequirement());
+                addToIndex(withoutPrerequisites, areaKey, course);
+                if (!requirementKey.equals(areaKey)) {
+                    addToIndex(withoutPrerequisites, requirementKey, course);
+                }
+            }
+        }
+
+        this.courseNames = names.toArray(new String[0]);
+        Map<Integer, String[]> gradeNames = new HashMap<>();
+        namesByGrade.forEach((grade, gradeList) -> gradeNames.put(grade, gradeList.toArray(new String[0])));
+        this.courseNamesByGrade = gradeNames;
+        this.coursesByGradeAndTrack = freeze(byGradeAndTrack);
+        this.coursesByGradeAndArea = freeze(byGradeAndArea);
+        this.coursesByGradeAndRequirement = freeze(byGradeAndRequirement);
+        this.coursesWithoutPrerequisites = freeze(withoutPrerequisites);
+        this.interestMatcher = new InterestMatcher(this);
+    }
+
+    /**
+     * Finds the prerequisite of each course, cutting any prerequisite that would create a cycle.
+     *
+     * @param table The course rows.
+     * @param rows  The row of each course, in catalog order.
+     * @return The position (in {@code rows}) of each course's prerequisite, or {@link #NO_COURSE} if it has none.
+     */
+    private static int[] findPrerequisites(CourseTable table, int[] rows) {
+        int count = rows.length;
+        Map<String, Integer> positionsByCode = new HashMap<>(count * 2);
+        for (int position = 0; position < count; position++) {
+            positionsByCode.put(table.getString(rows[position], CourseTable.COURSE_CODE), position);
+        }
+
+        int[] prerequisites = new int[count];
+        for (int position = 0; position < count; position++) {
+            prerequisites[position] = positionsByCode.getOrDefault(table.getString(rows[position], CourseTable.PREREQUISITES), NO_COURSE);
+        }
+
+        // Walk each prerequisite chain once, cutting the edge that closes a cycle
+        byte[] state = new byte[count]; // 0 = not visited, 1 = on the current path, 2 = done
+        int[] path = new int[count];
+        for (int start = 0; start < count; start++) {
+            int length = 0;
+            int position = start;
+            while (position != NO_COURSE && state[position] == 0) {
+                state[position] = 1;
+                path[length++] = position;
+                position = prerequisites[position];
+            }
+            if (position != NO_COURSE && state[position] == 1) {
+                int last = path[length - 1];
+                System.err.println("Cyclic prerequisite ignored: " + table.getString(rows[last], CourseTable.COURSE_CODE)
+                        + " requires " + table.getString(rows[position], CourseTable.COURSE_CODE));
+                prerequisites[last] = NO_COURSE;
+            }
+            for (int i = 0; i < length; i++) {
+                state[path[i]] = 2;
+            }
+        }
+        return prerequisites;
+    }
+
+    /**
+     * Orders the courses so every prerequisite comes before the courses that require it.
+     * Courses at the same depth of the prerequisite graph keep their catalog order.
+     *
+     * @param prerequisites The position of each course's prerequisite, with no cycles.
+     * @return The positions of the courses in topological order.
+     */
+    private static Integer[] topologicalOrder(int[] prerequisites) {
+        int count = prerequisites.length;
+        int[] depths = new int[count];
+        Arrays.fill(depths, NO_COURSE);
+        for (int start = 0; start < count; start++) {
+            depth(start, prerequisites, depths);
+        }
+
+        Integer[] order = new Integer[count];
+        for (int position = 0; position < count; position++) {
+            order[position] = position;
+        }
+        Arrays.sort(order, (a, b) -> depths[a] != depths[b] ? Integer.compare(depths[a], depths[b]) : Integer.compare(a, b));
+        return order;
+    }
+
+    /**
+     * Computes the depth of a course in the prerequisite graph without recursion, caching every depth it computes.
+     *
+     * @param position      The position of the course.
+     * @param prerequisites The position of each course's prerequisite, with no cycles.
+     * @param depths        The depths computed so far, {@link #NO_COURSE} where unknown.
+     * @return The number of prerequisites in the chain below the course.
+     */
+    private static int depth(int position, int[] prerequisites, int[] depths) {
+        // Find the closest course in the chain whose depth is already known
+        int known = position;
+        int steps = 0;
+        while (known != NO_COURSE && depths[known] == NO_COURSE) {
+            known = prerequisites[known];
+            steps++;
+        }
+        int depth = (known == NO_COURSE ? -1 : depths[known]) + steps;
+
+        // Fill in the depths on the way back down the chain
+        int current = position;
+        for (int d = depth; current != known; d--) {
+            depths[current] = d;
+            current = prerequisites[current];
+        }
+        return depths[position];
+    }
+
+    /**
+     * Builds the index key for a grade level and a course attribute, ignoring the case of the attribute.
+     *
+     * @param gradeLevel The grade level.
+     * @param value      The course attribute (track, area or graduation requirement).
+     * @return The index key.
+     */
+    private static String key(int gradeLevel, String value) {
+        return gradeLevel + "|" + (value == null ? "" : value.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Adds a course to the bucket for a key in an index being built.
+     *
+     * @param index  The index being built.
+     * @param key    The key of the bucket.
+     * @param course The course to add.
+     */
+    private static void addToIndex(Map<String, List<Course>> index, String key, Course course) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(course);
+    }
+
+    /**
+     * Makes every bucket of a finished index unmodifiable.
+     *
+     * @param index The finished index.
+     * @return The index with unmodifiable buckets.
+     */
+    private static Map<String, List<Course>> freeze(Map<String, List<Course>> index) {
+        index.replaceAll((key, bucket) -> List.copyOf(bucket));
+        return index;
+    }
+
+    /**
+     * Returns the catalog shared by the whole application, loading it the first time it is needed.
+     *
+     * @return The shared course catalog.
+     */
+    public static CourseCatalog getInstance() {
+        CourseCatalog catalog = instance.get();
+        if (catalog == null) {
+            synchronized (CourseCatalog.class) {
+                catalog = instance.get();
+                if (catalog == null) {
+                    catalog = load();
+                    instance.set(catalog);
+                }
+            }
+        }
+        return catalog;
+    }
+
+    /**
+     * Loads the course data again and publishes the new catalog in place of the current one.
+     * The current catalog is kept if the new course data could not be read.
+     *
+     * @return true if a new catalog was published, false otherwise.
+     */
+    public static boolean reload() {
+        CourseCatalog catalog = load();
+        if (catalog.size() == 0) {
+            System.err.println("Course data could not be read, keeping the current catalog");
+            return false;
+        }
+
+        synchronized (CourseCatalog.class) {
+            instance.set(catalog);
+        }
+        System.out.println("Course catalog reloaded with " + catalog.size() + " courses");
+        return true;
+    }
+
+    /**
+     * Builds a catalog from the current course data.
+     * The modification time of the course data is read first, so a change made while loading is picked up by the next reload.
+     *
+     * @return The new catalog.
+     */
+    private static CourseCatalog load() {
+        long version = new File(ExcelUtility.FILE_NAME).lastModified();
+        return new CourseCatalog(ExcelUtility.loadCourseData(), version);
+    }
+
+    /**
+     * Returns the version of the course data this catalog was built from.
+     * The version is the modification time of the course data, so it stays the same across restarts until the data changes.
+     *
+     * @return The catalog version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves a course based on its course code.
+     *
+     * @param courseCode The course code to search for.
+     * @return The Course object, or null if not found.
+     */
+    public Course getCourse(String courseCode) {
+        return courseCode == null ? null : courses.get(courseCode);
+    }
+
+    /**
+     * Retrieves a course based on its ID.
+     *
+     * @param id The ID of the course.
+     * @return The Course object.
+     */
+    public Course getCourse(int id) {
+        return coursesById[id];
+    }
+
+    /**
+     * Retrieves the ID of a course based on its course code.
+     *
+     * @param courseCode The course code to search for.
+     * @return The ID of the course, or {@link #NO_COURSE} if not found.
+     */
+    public int getId(String courseCode) {
+        Integer id = courseCode == null ? null : ids.get(courseCode);
+        return id == null ? NO_COURSE : id;
+    }
+
+    /**
+     * Retrieves the ID of a course's prerequisite.
+     *
+     * @param id The ID of the course.
+     * @return The ID of the prerequisite, or {@link #NO_COURSE} if the course has none.
+     */
+    public int getPrerequisiteId(int id) {
+        return prerequisiteIds[id];
+    }
+
+    /**
+     * Retrieves the number of distinct strings in the dictionary the area and requirement IDs index into.
+     *
+     * @return The size of the string dictionary.
+     */
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    /**
+     * Retrieves the graduation requirements every plan built from this catalog has to fulfill.
+     *
+     * @return The compiled graduation requirements.
+     */
+    public GraduationRequirements getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * Retrieves the index matching interests to the courses of this catalog without the recommendation API.
+     *
+     * @return The interest matcher built when the catalog was loaded.
+     */
+    public InterestMatcher getInterestMatcher() {
+        return interestMatcher;
+    }
+
+    // Column accessors used by the Course view
+    String getCourseCode(int id) {
+        return courseCodes[id];
+    }
+
+    String getCourseName(int id) {
+        return courseNamesById[id];
+    }
+
+    int getGradeLevel(int id) {
+        return gradeLevels[id];
+    }
+
+    String getTrack(int id) {
+        return trackNames[tracks[id]];
+    }
+
+    int getCourseAreaId(int id) {
+        return courseAreas[id];
+    }
+
+    String getCourseArea(int id) {
+        return strings[courseAreas[id]];
+    }
+
+    String getInterestTags(int id) {
+        return strings[interestTags[id]];
+    }
+
+    int getGraduationRequirementId(int id) {
+        return graduationRequirements[id];
+    }
+
+    String getGraduationRequirement(int id) {
+        return strings[graduationRequirements[id]];
+    }
+
+    String getPrerequisites(int id) {
+        return strings[prerequisites[id]];
+    }
+
+    /**
+     * Adds the prerequisite chain of a course (the course itself and all of its direct and indirect prerequisites)
+     * to a bit set of course IDs.
+     *
+     * @param id     The ID of the course.
+     * @param target The bit set to add the chain to.
+     */
+    public void addPrerequisiteChain(int id, BitSet target) {
+        target.or(prerequisiteChains[id]);
+    }
+
+    /**
+     * Retrieves every course in the catalog, in the order they appear in the course data.
+     *
+     * @return An unmodifiable collection of all courses.
+     */
+    public Collection<Course> getCourses() {
+        return courses.values();
+    }
+
+    /**
+     * Retrieves the display names of every course, formatted as "CourseCode - CourseName".
+     *
+     * @return A new array of formatted course names.
+     */
+    public String[] getCourseNames() {
+        return courseNames.clone();
+    }
+
+    /**
+     * Retrieves the display names of the courses offered in a grade, formatted as "CourseCode - CourseName".
+     *
+     * @param gradeLevel The grade level to filter by.
+     * @return A new array of formatted course names for the grade.
+     */
+    public String[] getCourseNamesForGrade(int gradeLevel) {
+        String[] names = courseNamesByGrade.get(gradeLevel);
+        return names == null ? new String[0] : names.clone();
+    }
+
+    /**
+     * Retrieves the courses offered in a grade on a track, ignoring case.
+     *
+     * @param gradeLevel The grade level of the courses.
+     * @param track      The track of the courses (e.g., University, College, Open).
+     * @return An unmodifiable list of the matching courses, in catalog order.
+     */
+    public List<Course> getCoursesForGradeAndTrack(int gradeLevel, String track) {
+        return coursesByGradeAndTrack.getOrDefault(key(gradeLevel, track), List.of());
+    }
+
+    /**
+     * Retrieves the courses an empty slot in a grade can be filled with: the courses on the student's track
+     * followed by the courses open to every track.
+     *
+     * @param gradeLevel The grade level of the slot.
+     * @param track      The student's track.
+     * @return The IDs of the candidate courses, in catalog order. The array is shared and must not be modified.
+     */
+    int[] getFillCandidates(int gradeLevel, String track) {
+        return fillCandidates.computeIfAbsent(key(gradeLevel, track), key -> {
+            List<Course> candidates = new ArrayList<>(getCoursesForGradeAndTrack(gradeLevel, track));
+            if (!"Open".equalsIgnoreCase(track)) {
+                candidates.addAll(getCoursesForGradeAndTrack(gradeLevel, "Open"));
+            }
+            return candidates.stream().mapToInt(Course::getId).toArray();
+        });
+    }
+
+    /**
+     * Retrieves the courses offered in a grade in a course area, ignoring case.
+     *
+     * @param gradeLevel The grade level of the courses.
+     * @param courseArea The area the courses belong to.
+     * @return An unmodifiable list of the matching courses, in catalog order.
+     */
+    public List<Course> getCoursesForGradeAndArea(int gradeLevel, String courseArea) {
+        return coursesByGradeAndArea.getOrDefault(key(gradeLevel, courseArea), List.of());
+    }
+
+    /**
+     * Retrieves the courses offered in a grade that fulfill a graduation requirement, ignoring case.
+     *
+     * @param gradeLevel  The grade level of the courses.
+     * @param requirement The graduation requirement the courses fulfill.
+     * @return An unmodifiable list of the matching courses, in catalog order.
+     */
+    public List<Course> getCoursesForGradeAndRequirement(int gradeLevel, String requirement) {
+        return coursesByGradeAndRequirement.getOrDefault(key(gradeLevel, requirement), List.of());
+    }
+
+    /**
+     * Retrieves the courses offered in a grade that have no prerequisites and whose course area
+     * or graduation requirement matches the given credit, ignoring case.
+     *
+     * @param gradeLevel The grade level of the courses.
+     * @param credit     The course area or graduation requirement to match.
+     * @return An unmodifiable list of the matching courses, in catalog order.
+     */
+    public List<Course> getCoursesWithoutPrerequisites(int gradeLevel, String credit) {
+        return coursesWithoutPrerequisites.getOrDefault(key(gradeLevel, credit), List.of());
+    }
+
+    /**
+     * Returns the number of courses in the catalog.
+     *
+     * @return The number of courses.
+     */
+    public int size() {
+        return courses.size();
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.utility.courses;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Utility class that compiles the course workbook into a compact binary snapshot and loads it back
+ * through a memory-mapped file, so the application does not have to parse the workbook on every launch.
+ *
+ * <p>The snapshot is laid out as a fixed header, a table of every distinct string in the catalog,
+ * and one fixed-width record per course whose fields point into the string table.
+ * The header stores the size and modification time of the workbook it was compiled from,
+ * which is how a stale snapshot is detected.</p>
+ *
+ * <p>The snapshot can be compiled ahead of time by running this class,
+ * otherwise it is compiled the first time the workbook has to be parsed.</p>
+ */
+public class CourseSnapshot {
+    /**
+     * The path to the binary snapshot compiled from the course workbook.
+     */
+    protected static final String SNAPSHOT_FILE = "src/main/resources/model/CoursesFinal.bin";
+
+    /**
+     * Marker written at the start of every snapshot file ("CCSN").
+     */
+    private static final int MAGIC = 0x4343534E;
+
+    /**
+     * Version of the snapshot layout, bumped whenever the record format changes.
+     */
+    private static final int FORMAT_VERSION = 2;
+
+    /**
+     * Size of the header in bytes: magic, version, source length, source modified time, string count and record count.
+     */
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4;
+
+    /**
+     * Loads the courses stored in the snapshot, as long as it was compiled from the current version of the workbook.
+     *
+     * @param source The workbook the snapshot must have been compiled from.
+     * @return The courses in the snapshot, or null if the snapshot is missing, stale or unreadable.
+     */
+    public static CourseTable load(File source) {
+        File snapshot = new File(SNAPSHOT_FILE);
+        if (!snapshot.isFile()) {
+            return null;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshot, "r");
+             FileChannel channel = file.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null; // Not a snapshot this version can read
+            }
+            if (buffer.getLong() != source.length() || buffer.getLong() != source.lastModified()) {
+                return null; // The workbook changed since the snapshot was compiled
+            }
+
+            int stringCount = buffer.getInt();
+            int recordCount = buffer.getInt();
+
+            // Decode the string table once, records only hold indexes into it
+            String[] strings = new String[stringCount];
+            for (int i = 0; i < stringCount; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            // The records already have the table's layout, so they are copied over in one go
+            int[] records = new int[recordCount * CourseTable.RECORD_INTS];
+            buffer.asIntBuffer().get(records);
+            for (int i = 0; i < recordCount; i++) {
+                for (int field = 0; field < CourseTable.RECORD_INTS; field++) {
+                    int value = records[i * CourseTable.RECORD_INTS + field];
+                    if (field != CourseTable.GRADE_LEVEL && (value < 0 || value >= stringCount)) {
+                        return null; // Corrupt record
+                    }
+                }
+            }
+            return new CourseTable(strings, records, recordCount);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not read course snapshot: " + SNAPSHOT_FILE + ", Error: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Compiles the given courses into the snapshot file, stamped with the size and modification time of the workbook.
+     * The snapshot is written to a temporary file first so a reader never sees a half-written snapshot.
+     *
+     * @param courses The courses read from the workbook.
+     * @param source  The workbook the courses were read from.
+     */
+    public static void write(CourseTable courses, File source) {
+        // The table already stores every distinct string once
+        String[] strings = courses.getStrings();
+        byte[][] encodedStrings = new byte[strings.length][];
+        int recordInts = courses.size() * CourseTable.RECORD_INTS;
+        int size = HEADER_BYTES + recordInts * Integer.BYTES;
+        for (int i = 0; i < strings.length; i++) {
+            encodedStrings[i] = strings[i].getBytes(StandardCharsets.UTF_8);
+            if (encodedStrings[i].length > 0xFFFF) {
+                System.err.println("String too long for course snapshot, not writing it: " + strings[i].substring(0, 32));
+                return;
+            }
+            size += Short.BYTES + encodedStrings[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(FORMAT_VERSION);
+        buffer.putLong(source.length());
+        buffer.putLong(source.lastModified());
+        buffer.putInt(encodedStrings.length);
+        buffer.putInt(courses.size());
+        for (byte[] bytes : encodedStrings) {
+            buffer.putShort((short) bytes.length);
+            buffer.put(bytes);
+        }
+        buffer.asIntBuffer().put(courses.getRecords(), 0, recordInts);
+        buffer.position(buffer.position() + recordInts * Integer.BYTES);
+        buffer.flip();
+
+        File snapshot = new File(SNAPSHOT_FILE);
+        try {
+            File temp = File.createTempFile("CoursesFinal", ".bin", snapshot.getAbsoluteFile().getParentFile());
+            try (RandomAccessFile file = new RandomAccessFile(temp, "rw");
+                 FileChannel channel = file.getChannel()) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing course snapshot: " + SNAPSHOT_FILE + ", Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Compiles the course workbook into the binary snapshot ahead of time.
+     *
+     * @param args Command-line arguments (not used).
+     */
+    public static void main(String[] args) {
+        File source = new File(ExcelUtility.FILE_NAME);
+        CourseTable courses = ExcelUtility.readCoursesFromWorkbook();
+        write(courses, source);
+        System.out.println("Compiled " + courses.size() + " courses to " + SNAPSHOT_FILE);
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.utility.courses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CourseTable class holds course rows as they are read from the course data, before they are put in a
+ * {@link CourseCatalog}. Rows are stored as fixed-width int records and every string is stored once in a dictionary,
+ * so reading the course data does not create an object per course.
+ *
+ * <p>This is the same layout as the {@link CourseSnapshot} file, which lets a snapshot be loaded without decoding
+ * each record into objects.</p>
+ */
+public class CourseTable {
+    // Field offsets within a record, all but the grade level are indexes into the string dictionary
+    static final int COURSE_CODE = 0;
+    static final int COURSE_NAME = 1;
+    static final int COURSE_AREA = 2;
+    static final int PREREQUISITES = 3;
+    static final int GRADE_LEVEL = 4;
+    static final int TRACK = 5;
+    static final int GRADUATION_REQUIREMENT = 6;
+    static final int INTEREST_TAGS = 7;
+
+    /**
+     * Number of int fields in a record.
+     */
+    static final int RECORD_INTS = 8;
+
+    /**
+     * Every distinct string in the table, in the order they were first added.
+     */
+    private final List<String> strings;
+
+    /**
+     * The index of every string in the dictionary.
+     */
+    private final Map<String, Integer> stringIndexes;
+
+    /**
+     * The records of every row, {@link #RECORD_INTS} ints per row.
+     */
+    private int[] records;
+
+    /**
+     * The number of rows in the table.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty table.
+     */
+    public CourseTable() {
+        this.strings = new ArrayList<>();
+        this.stringIndexes = new HashMap<>();
+        this.records = new int[64 * RECORD_INTS];
+    }
+
+    /**
+     * Constructs a table over an existing string dictionary and records, such as the ones read from a snapshot.
+     *
+     * @param strings The string dictionary.
+     * @param records The records of every row, indexing into the dictionary.
+     * @param size    The number of rows.
+     */
+    CourseTable(String[] strings, int[] records, int size) {
+        this.strings = new ArrayList<>(Arrays.asList(strings));
+        this.stringIndexes = new HashMap<>(strings.length * 2);
+        for (int i = 0; i < strings.length; i++) {
+            stringIndexes.putIfAbsent(strings[i], i);
+        }
+        this.records = records;
+        this.size = size;
+    }
+
+    /**
+     * Adds a course row to the table.
+     *
+     * @param courseCode The code representing the course.
+     * @param courseName The name of the course.
+     * @param courseArea The area or category the course belongs to (e.g., Math, Science).
+     * @param prerequisites The course code of the prerequisite, or "none".
+     * @param gradeLevel The grade level required to take the course.
+     * @param track The track the course belongs to (e.g., University, College, Open).
+     * @param graduationRequirement The graduation requirement that this course fulfills.
+     * @param interestTags The comma-separated interests the course relates to.
+     */
+    public void add(String courseCode, String courseName, String courseArea, String prerequisites, int gradeLevel, String track, String graduationRequirement, String interestTags) {
+        if ((size + 1) * RECORD_INTS > records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+
+        int position = size * RECORD_INTS;
+        records[position + COURSE_CODE] = intern(courseCode);
+        records[position + COURSE_NAME] = intern(courseName);
+        records[position + COURSE_AREA] = intern(courseArea);
+        records[position + PREREQUISITES] = intern(prerequisites);
+        records[position + GRADE_LEVEL] = gradeLevel;
+        records[position + TRACK] = intern(track);
+        records[position + GRADUATION_REQUIREMENT] = intern(graduationRequirement);
+        records[position + INTEREST_TAGS] = intern(interestTags);
+        size++;
+    }
+
+    /**
+     * Returns the index of a string in the dictionary, adding it if it is not there yet.
+     *
+     * @param value The string to look up.
+     * @return The index of the string in the dictionary.
+     */
+    private int intern(String value) {
+        String string = value == null ? "" : value;
+        Integer index = stringIndexes.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndexes.put(string, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of rows in the table.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a raw field of a row: the grade level, or the dictionary index of a string field.
+     *
+     * @param row   The row.
+     * @param field The field offset.
+     * @return The raw value of the field.
+     */
+    int get(int row, int field) {
+        return records[row * RECORD_INTS + field];
+    }
+
+    /**
+     * Returns a string field of a row.
+     *
+     * @param row   The row.
+     * @param field The field offset.
+     * @return The value of the field.
+     */
+    String getString(int row, int field) {
+        return strings.get(get(row, field));
+    }
+
+    /**
+     * Returns the string dictionary of the table.
+     *
+     * @return A new array holding every distinct string in the table.
+     */
+    String[] getStrings() {
+        return strings.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the records of the table, {@link #RECORD_INTS} ints per row.
+     * The array may be longer than the number of rows.
+     *
+     * @return The records of the table.
+     */
+    int[] getRecords() {
+        return records;
+    }
+}
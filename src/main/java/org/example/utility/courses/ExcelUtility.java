@@ -1,17 +1,26 @@
 package org.example.utility.courses;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Consumer;
 
 /**
  * Utility class for handling course data stored in an Excel file.
@@ -23,70 +32,98 @@ public class ExcelUtility {
      */
     protected static final String FILE_NAME = "src/main/resources/model/CoursesFinal.xlsx";
 
+    // Column indexes of the course fields in the sheet
+    private static final int COURSE_CODE = 0;
+    private static final int COURSE_NAME = 1;
+    private static final int INTEREST_TAGS = 2;
+    private static final int COURSE_AREA = 3;
+    private static final int PREREQUISITES = 4;
+    private static final int GRADE_LEVEL = 5;
+    private static final int TRACK = 6;
+    private static final int GRADUATION_REQUIREMENT = 7;
+    private static final int COLUMN_COUNT = 8;
+
     /**
-     * Loads course data from the Excel file and populates the {@code courseMap} in {@code CourseAssembly}.
-     * Each row in the Excel file represents a course with details such as course code, name, and other attributes.
+     * Loads the course data used to build the {@link CourseCatalog}.
+     * The courses are read from the compiled {@link CourseSnapshot} when it is up to date with the Excel file,
+     * otherwise the Excel file is parsed and the snapshot is recompiled for the next launch.
+     *
+     * @return The table of courses, in row order.
      */
-    public static void loadCourseData() {
-        try (InputStream inp = new FileInputStream(FILE_NAME)) {
-            Workbook workbook = new XSSFWorkbook(inp); // Use XSSFWorkbook for .xlsx files
-            Sheet sheet = workbook.getSheetAt(0); // Assuming data is on the first sheet
-
-            // Iterate through rows skipping header row (if exists)
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row != null) {
-                    String courseCode = getStringValue(row.getCell(0));
-                    String courseName = getStringValue(row.getCell(1));
-                    String courseArea = getStringValue(row.getCell(3));
-                    String prerequisites = getStringValue(row.getCell(4));
-
-                    int gradeLevel = getIntValue(row.getCell(5));
-                    String track = getStringValue(row.getCell(6));
-                    String graduationRequirement = getStringValue(row.getCell(7));
-
-                    Course course = new Course(courseCode, courseName, courseArea, prerequisites, gradeLevel, track, graduationRequirement);
-                    CourseAssembly.courseMap.put(courseCode, course);
-                }
+    public static CourseTable loadCourseData() {
+        File source = new File(FILE_NAME);
+        CourseTable courses = CourseSnapshot.load(source);
+
+        if (courses == null) {
+            courses = readCoursesFromWorkbook();
+            if (courses.size() > 0) {
+                CourseSnapshot.write(courses, source);
             }
-        } catch (FileNotFoundException e) {
-            System.err.println("File not found: " + FILE_NAME);
-            e.printStackTrace();
-        } catch (IOException e) {
-            System.err.println("Error reading file: " + FILE_NAME);
-            e.printStackTrace();
-        } catch (Exception e) {
-            System.err.println("Unexpected error:");
-            e.printStackTrace();
         }
+
+        return courses;
+    }
+
+    /**
+     * Reads every course from the Excel file.
+     *
+     * @return The table of courses in the Excel file, in row order.
+     */
+    protected static CourseTable readCoursesFromWorkbook() {
+        CourseTable courses = new CourseTable();
+        streamCourseData(courses);
+        return courses;
+    }
+
+    /**
+     * Streams the courses in the Excel file into the given table as the rows are parsed.
+     * Each row in the Excel file represents a course with details such as course code, name, and other attributes.
+     *
+     * <p>The sheet is read with POI's event model, so only the shared strings and the current row are kept in memory
+     * besides the table itself, no matter how many courses the file holds.</p>
+     *
+     * @param courses The table that receives each course, in row order.
+     */
+    public static void streamCourseData(CourseTable courses) {
+        streamRows(row -> {
+            String courseCode = row[COURSE_CODE];
+            if (courseCode.isEmpty()) {
+                return; // Skip blank rows
+            }
+            int gradeLevel = getIntValue(row[GRADE_LEVEL]);
+
+            courses.add(courseCode, row[COURSE_NAME], row[COURSE_AREA], row[PREREQUISITES], gradeLevel, row[TRACK], row[GRADUATION_REQUIREMENT], row[INTEREST_TAGS]);
+        });
     }
 
     /**
-     * Retrieves all course names from the Excel file, formatted as "CourseCode - CourseName".
+     * Parses the first sheet of the Excel file with a SAX parser, passing every row after the header to the consumer.
+     * The row array is reused between rows, so consumers must copy out anything they keep.
      *
-     * @return An array of formatted course names.
+     * @param consumer The consumer that receives the cell values of each row, indexed by column.
      */
-    public static String[] getAllCourseNames() {
-        List<String> courseNames = new ArrayList<>();
-        try (InputStream inp = new FileInputStream(FILE_NAME)) {
-            Workbook workbook = new XSSFWorkbook(inp);
-            Sheet sheet = workbook.getSheetAt(0);
-
-            // Iterate through rows skipping header row (if exists)
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row != null) {
-                    String courseCode = getStringValue(row.getCell(0));
-                    String courseName = getStringValue(row.getCell(1));
-                    if (!courseName.isEmpty() && !courseCode.isEmpty()) {
-                        String formattedCourse = courseCode + " - " + courseName;
-                        courseNames.add(formattedCourse);
-                    }
-                }
+    private static void streamRows(Consumer<String[]> consumer) {
+        try (OPCPackage pkg = OPCPackage.open(new File(FILE_NAME), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) { // Assuming data is on the first sheet
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, strings, new RowHandler(consumer), new RawNumberFormatter(), false));
+                parser.parse(new InputSource(sheet));
             }
         } catch (FileNotFoundException e) {
             System.err.println("File not found: " + FILE_NAME);
             e.printStackTrace();
+        } catch (InvalidFormatException e) {
+            System.err.println("Invalid Excel file: " + FILE_NAME);
+            e.printStackTrace();
         } catch (IOException e) {
             System.err.println("Error reading file: " + FILE_NAME);
             e.printStackTrace();
@@ -94,44 +131,79 @@ public class ExcelUtility {
             System.err.println("Unexpected error:");
             e.printStackTrace();
         }
-        return courseNames.toArray(new String[0]);
     }
 
     /**
-     * Extracts the string value from a given cell.
+     * Extracts the integer value from a cell value.
      *
-     * @param cell The cell to extract the value from.
-     * @return The string value of the cell, or an empty string if the cell is null or not a string type.
+     * @param value The cell value to extract the integer from.
+     * @return The integer value of the cell, or 0 if the cell is empty or not numeric.
      */
-    private static String getStringValue(Cell cell) {
-        if (cell == null) {
-            return "";
+    private static int getIntValue(String value) {
+        try {
+            return (int) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return 0;
         }
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf(cell.getNumericCellValue()).trim();
-            default:
-                return "";
+    }
+
+    /**
+     * Collects the cells of each row from the SAX parser and hands the finished row to a consumer.
+     */
+    private static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        /**
+         * The consumer that receives each finished row.
+         */
+        private final Consumer<String[]> consumer;
+
+        /**
+         * The cell values of the row currently being parsed, indexed by column.
+         */
+        private final String[] row = new String[COLUMN_COUNT];
+
+        /**
+         * Constructs a handler that passes every row after the header to the consumer.
+         *
+         * @param consumer The consumer that receives each finished row.
+         */
+        RowHandler(Consumer<String[]> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(row, "");
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum > 0) { // Skip the header row
+                consumer.accept(row);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = new CellReference(cellReference).getCol();
+            if (column < COLUMN_COUNT && formattedValue != null) {
+                row[column] = formattedValue.trim();
+            }
         }
     }
 
     /**
-     * Extracts the integer value from a given cell.
-     *
-     * @param cell The cell to extract the value from.
-     * @return The integer value of the cell, or 0 if the cell is null or not numeric.
+     * Formats numeric cells the way {@code Cell.getNumericCellValue()} prints them (e.g. "2.0"),
+     * so graduation requirement groups keep the same keys they had with the DOM parser.
      */
-    private static int getIntValue(Cell cell) {
-        if (cell == null) {
-            return 0;
+    private static class RawNumberFormatter extends DataFormatter {
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString) {
+            return String.valueOf(value);
         }
-        switch (cell.getCellType()) {
-            case NUMERIC:
-                return (int) cell.getNumericCellValue();
-            default:
-                return 0;
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            return String.valueOf(value);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package org.example.utility.courses;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A FillPolicy decides how the empty slots left in a plan are filled once the engine is done with it.
+ *
+ * <p>The policy is passed into the assessment and returns a future instead of blocking, so a policy that waits for
+ * a person (like the quiz prompt) never parks an assessment thread. The engine itself does not know about the UI:
+ * the interactive policy lives with the quiz forms, and the policies below cover servers, tests and batch jobs.</p>
+ */
+@FunctionalInterface
+public interface FillPolicy {
+    /**
+     * Fills the empty slots of a plan.
+     *
+     * @param context The assessment whose plan has empty slots.
+     * @return A future completed once the slots are filled, or completed exceptionally if they cannot be.
+     */
+    CompletableFuture<Void> fill(RecommendationContext context);
+
+    /**
+     * Fills empty slots from the courses the API recommends for the student's own interests,
+     * falling back to random courses where the API has none.
+     *
+     * @return The API-based fill policy.
+     */
+    static FillPolicy api() {
+        return context -> fillWithAnswer(context, context.getStudent().getInterests());
+    }
+
+    /**
+     * Fills empty slots from the courses the catalog's {@link InterestMatcher} finds for the student's own interests,
+     * without calling the API, falling back to random courses where it has none.
+     *
+     * @return The local interest fill policy.
+     */
+    static FillPolicy local() {
+        return context -> {
+            CourseCatalog catalog = context.getCatalog();
+            int[] matches = Course.toCourseIds(catalog, catalog.getInterestMatcher().recommend(context.getStudent().getInterests()));
+            if (matches.length == 0) {
+                return fillWithAnswer(context, ""); // An empty answer never reaches the API
+            }
+            context.setApiCourses(matches);
+            return fillWithAnswer(context, context.getStudent().getInterests());
+        };
+    }
+
+    /**
+     * Fills empty slots with random courses on the student's track.
+     *
+     * @return The random fill policy.
+     */
+    static FillPolicy random() {
+        return context -> fillWithAnswer(context, "");
+    }
+
+    /**
+     * Fills empty slots with random courses on the student's track, picked reproducibly.
+     *
+     * @param seed The seed of the random course picks.
+     * @return The seeded random fill policy.
+     */
+    static FillPolicy random(long seed) {
+        return context -> {
+            context.setSeed(seed);
+            return fillWithAnswer(context, "");
+        };
+    }
+
+    /**
+     * Refuses to fill empty slots, failing the assessment instead.
+     *
+     * @return The fail-fast fill policy.
+     */
+    static FillPolicy failFast() {
+        return context -> CompletableFuture.failedFuture(
+                new IllegalStateException("Plan has empty slots for " + context.getStudent().getUsername()));
+    }
+
+    /**
+     * Fills empty slots as if the student had given an answer to the quiz prompt.
+     *
+     * @param context The assessment whose plan has empty slots.
+     * @param answer  The answer, an empty answer picks random courses.
+     * @return A completed future, or a failed one if filling threw.
+     */
+    private static CompletableFuture<Void> fillWithAnswer(RecommendationContext context, String answer) {
+        try {
+            Course.getNonFilledClassesResponse(context, answer);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.utility.courses;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * The GraduationCredits class counts the graduation credits a plan still has to fulfill,
+ * one int counter per requirement of a {@link GraduationRequirements} table.
+ */
+public class GraduationCredits {
+    /**
+     * The requirements the counters belong to.
+     */
+    private final GraduationRequirements requirements;
+
+    /**
+     * The number of credits still needed for each requirement.
+     */
+    private final int[] remaining;
+
+    /**
+     * Constructs a counter with the full credits of every requirement.
+     *
+     * @param requirements The requirements to fulfill.
+     */
+    GraduationCredits(GraduationRequirements requirements) {
+        this(requirements, requirements.newCounters());
+    }
+
+    /**
+     * Constructs a counter with the given remaining credits.
+     *
+     * @param requirements The requirements to fulfill.
+     * @param remaining    The number of credits still needed for each requirement.
+     */
+    private GraduationCredits(GraduationRequirements requirements, int[] remaining) {
+        this.requirements = requirements;
+        this.remaining = remaining;
+    }
+
+    /**
+     * Retrieves the requirements the counters belong to.
+     *
+     * @return The graduation requirements.
+     */
+    public GraduationRequirements getRequirements() {
+        return requirements;
+    }
+
+    /**
+     * Retrieves the number of credits still needed for a requirement.
+     *
+     * @param requirement The requirement index.
+     * @return The number of credits still needed.
+     */
+    public int getRemaining(int requirement) {
+        return remaining[requirement];
+    }
+
+    /**
+     * Uses up one credit of a course, from its course area if that credit is still needed,
+     * otherwise from its graduation requirement group.
+     *
+     * @param catalog The catalog the course belongs to.
+     * @param id      The ID of the course that was added to the plan.
+     */
+    void use(CourseCatalog catalog, int id) {
+        int area = requirements.getRequirement(catalog.getCourseAreaId(id));
+        if (area != GraduationRequirements.NONE && remaining[area] > 0) {
+            remaining[area]--;
+            return;
+        }
+
+        int gradRequirement = requirements.getRequirement(catalog.getGraduationRequirementId(id));
+        if (gradRequirement != GraduationRequirements.NONE && remaining[gradRequirement] > 0) {
+            remaining[gradRequirement]--;
+        }
+    }
+
+    /**
+     * Iterates over the requirements that still need credits, in the order they are filled.
+     * The iterator reads the live counters, so a requirement fulfilled while iterating is skipped.
+     *
+     * @return The indexes of the unfulfilled requirements.
+     */
+    public PrimitiveIterator.OfInt unfulfilled() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                int requirement = from;
+                while (requirement < remaining.length && remaining[requirement] <= 0) {
+                    requirement++;
+                }
+                return requirement;
+            }
+
+            @Override
+            public boolean hasNext() {
+                next = advance(next);
+                return next < remaining.length;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return next++;
+            }
+        };
+    }
+
+    /**
+     * Creates an independent copy of the counters.
+     *
+     * @return A copy of these credits.
+     */
+    GraduationCredits copy() {
+        return new GraduationCredits(requirements, remaining.clone());
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.utility.courses;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * The GraduationRequirements class is the table of graduation credits every plan has to fulfill,
+ * compiled against the string dictionary of a {@link CourseCatalog}.
+ *
+ * <p>Each requirement is a course area (e.g. "Arts") or a graduation requirement group (e.g. "1.0") and gets an int
+ * index, so a plan tracks its credits in a plain int array (see {@link GraduationCredits}). Compiling the table maps
+ * every area and requirement ID of the catalog to its requirement index up front, so crediting a course is an array
+ * lookup instead of string hashing.</p>
+ *
+ * <p>The requirements are read from {@link #REQUIREMENTS_FILE}, so a school can change them without code changes.
+ * If the file cannot be read, the Ontario diploma requirements below are used.</p>
+ */
+public final class GraduationRequirements {
+    /**
+     * The file defining the graduation requirements.
+     */
+    protected static final String REQUIREMENTS_FILE = "src/main/resources/graduation_requirements.properties";
+
+    /**
+     * The index returned for a string that is not a requirement.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The requirement names and credits used when the requirements file cannot be read.
+     */
+    private static final String[] DEFAULT_NAMES = {"French", "1.0", "2.0", "3.0", "Health & Physical Education", "Arts"};
+    private static final int[] DEFAULT_CREDITS = {1, 1, 1, 1, 1, 1};
+
+    /**
+     * The name of each requirement, in the order they are filled.
+     */
+    private final String[] names;
+
+    /**
+     * The number of credits needed for each requirement.
+     */
+    private final int[] credits;
+
+    /**
+     * The requirement index of each string in the catalog's dictionary, or {@link #NONE}.
+     */
+    private final int[] requirementsByString;
+
+    /**
+     * Compiles the requirements against a catalog's string dictionary.
+     *
+     * @param names   The name of each requirement, in the order they are filled.
+     * @param credits The number of credits needed for each requirement.
+     * @param strings The catalog's string dictionary.
+     */
+    private GraduationRequirements(String[] names, int[] credits, String[] strings) {
+        this.names = names;
+        this.credits = credits;
+
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            indexes.put(names[i], i);
+        }
+        this.requirementsByString = new int[strings.length];
+        for (int i = 0; i < strings.length; i++) {
+            requirementsByString[i] = indexes.getOrDefault(strings[i], NONE);
+        }
+    }
+
+    /**
+     * Reads the requirements file and compiles it against a catalog's string dictionary.
+     *
+     * @param strings The catalog's string dictionary.
+     * @return The compiled requirements.
+     */
+    static GraduationRequirements compile(String[] strings) {
+        Properties properties = new Properties();
+        try (FileInputStream in = new FileInputStream(REQUIREMENTS_FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.err.println("Could not read graduation requirements: " + REQUIREMENTS_FILE + ", using the defaults");
+            return new GraduationRequirements(DEFAULT_NAMES, DEFAULT_CREDITS, strings);
+        }
+
+        List<String> names = new ArrayList<>();
+        List<Integer> credits = new ArrayList<>();
+        for (int i = 1; properties.containsKey("requirement." + i); i++) {
+            String name = properties.getProperty("requirement." + i).trim();
+            try {
+                credits.add(Integer.parseInt(properties.getProperty("credits." + i, "1").trim()));
+                names.add(name);
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid credits for graduation requirement: " + name);
+            }
+        }
+        return new GraduationRequirements(names.toArray(new String[0]), credits.stream().mapToInt(Integer::intValue).toArray(), strings);
+    }
+
+    /**
+     * Retrieves the number of requirements.
+     *
+     * @return The number of requirements.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Retrieves the name of a requirement.
+     *
+     * @param requirement The requirement index.
+     * @return The course area or graduation requirement group of the requirement.
+     */
+    public String getName(int requirement) {
+        return names[requirement];
+    }
+
+    /**
+     * Retrieves the number of credits needed for a requirement.
+     *
+     * @param requirement The requirement index.
+     * @return The number of credits needed.
+     */
+    public int getCredits(int requirement) {
+        return credits[requirement];
+    }
+
+    /**
+     * Retrieves a new counter holding the full credits of every requirement.
+     *
+     * @return The credits a plan starts with.
+     */
+    int[] newCounters() {
+        return Arrays.copyOf(credits, credits.length);
+    }
+
+    /**
+     * Looks up the requirement a catalog string stands for.
+     *
+     * @param stringId The ID of a course area or graduation requirement in the catalog's dictionary.
+     * @return The requirement index, or {@link #NONE} if the string is not a requirement.
+     */
+    public int getRequirement(int stringId) {
+        return requirementsByString[stringId];
+    }
+}
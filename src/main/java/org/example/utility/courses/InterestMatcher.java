@@ -0,0 +1,237 @@
+package org.example.utility.courses;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The InterestMatcher class recommends courses for a student's interests without calling the recommendation API.
+ *
+ * <p>When the catalog is loaded, the interest tags, name and area of every course are split into words and stemmed,
+ * and an inverted index maps each stem to the courses using it, weighted by TF-IDF: a word counts for more the more
+ * often a course uses it and the fewer courses use it at all. A query looks up the stems of the interests and adds up
+ * the weights of the courses they point to, so answering it only touches the courses sharing a word with the interests.</p>
+ *
+ * <p>The result has the same shape as the API's: course codes, best match first. It is used when the API cannot
+ * be reached, and to fill empty slots from interests when running without the API.</p>
+ */
+public class InterestMatcher {
+    /**
+     * Number of courses recommended when no limit is given.
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    // Weight of a word depending on where it appears in the course
+    private static final float TAG_WEIGHT = 1.0f;
+    private static final float NAME_WEIGHT = 1.5f;
+    private static final float AREA_WEIGHT = 1.0f;
+
+    /**
+     * Words too common in interest answers and course names to say anything about a course.
+     */
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "do", "for", "from", "i", "im", "in", "into", "is",
+            "it", "like", "love", "enjoy", "me", "my", "of", "on", "or", "so", "that", "the", "their", "things", "to",
+            "very", "want", "with", "you", "your", "also", "lot", "really", "stuff", "about", "interested");
+
+    /**
+     * The catalog the courses are matched against.
+     */
+    private final CourseCatalog catalog;
+
+    /**
+     * The courses using each stem, by ID.
+     */
+    private final Map<String, int[]> postings;
+
+    /**
+     * The TF-IDF weight of each course in the postings of the same stem, normalized by the length of the course's vector.
+     */
+    private final Map<String, float[]> weights;
+
+    /**
+     * The inverse document frequency of each stem, used to weigh the words of a query.
+     */
+    private final Map<String, Float> inverseFrequencies;
+
+    /**
+     * Builds the inverted index over the courses of a catalog.
+     *
+     * @param catalog The catalog to index.
+     */
+    InterestMatcher(CourseCatalog catalog) {
+        this.catalog = catalog;
+        int count = catalog.size();
+
+        // Term frequency of every stem in every course, weighted by the field it appears in
+        Map<String, Map<Integer, Float>> frequencies = new LinkedHashMap<>();
+        for (int id = 0; id < count; id++) {
+            addTerms(frequencies, id, catalog.getInterestTags(id), TAG_WEIGHT);
+            addTerms(frequencies, id, catalog.getCourseName(id), NAME_WEIGHT);
+            addTerms(frequencies, id, catalog.getCourseArea(id), AREA_WEIGHT);
+        }
+
+        Map<String, Float> idf = new HashMap<>(frequencies.size() * 2);
+        float[] norms = new float[count];
+        frequencies.forEach((term, courses) -> {
+            float weight = (float) Math.log((1.0 + count) / (1.0 + courses.size())) + 1.0f;
+            idf.put(term, weight);
+            courses.forEach((id, frequency) -> norms[id] += (frequency * weight) * (frequency * weight));
+        });
+
+        Map<String, int[]> termPostings = new HashMap<>(frequencies.size() * 2);
+        Map<String, float[]> termWeights = new HashMap<>(frequencies.size() * 2);
+        frequencies.forEach((term, courses) -> {
+            int[] ids = new int[courses.size()];
+            float[] courseWeights = new float[courses.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> entry : courses.entrySet()) {
+                int id = entry.getKey();
+                ids[i] = id;
+                courseWeights[i] = entry.getValue() * idf.get(term) / (float) Math.sqrt(norms[id]);
+                i++;
+            }
+            termPostings.put(term, ids);
+            termWeights.put(term, courseWeights);
+        });
+
+        this.postings = termPostings;
+        this.weights = termWeights;
+        this.inverseFrequencies = idf;
+    }
+
+    /**
+     * Adds the stems of a course field to the term frequencies.
+     *
+     * @param frequencies The term frequencies of every course, keyed by stem.
+     * @param id          The ID of the course.
+     * @param text        The field to index.
+     * @param weight      The weight of a word in this field.
+     */
+    private static void addTerms(Map<String, Map<Integer, Float>> frequencies, int id, String text, float weight) {
+        for (String term : terms(text)) {
+            frequencies.computeIfAbsent(term, key -> new LinkedHashMap<>()).merge(id, weight, Float::sum);
+        }
+    }
+
+    /**
+     * Recommends up to {@link #DEFAULT_LIMIT} courses for a student's interests.
+     *
+     * @param interests The student's interests, as free text.
+     * @return The codes of the matching courses, best match first. Empty if no course shares a word with the interests.
+     */
+    public ArrayList<String> recommend(String interests) {
+        return recommend(interests, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Recommends courses for a student's interests.
+     *
+     * @param interests The student's interests, as free text.
+     * @param limit     The maximum number of courses recommended.
+     * @return The codes of the matching courses, best match first. Empty if no course shares a word with the interests.
+     */
+    public ArrayList<String> recommend(String interests, int limit) {
+        ArrayList<String> courses = new ArrayList<>();
+        if (interests == null || limit <= 0) {
+            return courses;
+        }
+
+        // Repeated words in the interests count more, like in the course index
+        Map<String, Float> query = new HashMap<>();
+        for (String term : terms(interests)) {
+            Float idf = inverseFrequencies.get(term);
+            if (idf != null) {
+                query.merge(term, idf, Float::sum);
+            }
+        }
+        if (query.isEmpty()) {
+            return courses;
+        }
+
+        float[] scores = new float[catalog.size()];
+        int[] matches = new int[catalog.size()];
+        int matchCount = 0;
+        for (Map.Entry<String, Float> entry : query.entrySet()) {
+            int[] ids = postings.get(entry.getKey());
+            float[] courseWeights = weights.get(entry.getKey());
+            for (int i = 0; i < ids.length; i++) {
+                if (scores[ids[i]] == 0) {
+                    matches[matchCount++] = ids[i];
+                }
+                scores[ids[i]] += entry.getValue() * courseWeights[i];
+            }
+        }
+
+        // Best score first, ties in catalog order so the result does not depend on the hash order of the query
+        Integer[] ranked = new Integer[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            ranked[i] = matches[i];
+        }
+        Arrays.sort(ranked, (a, b) -> scores[a] != scores[b] ? Float.compare(scores[b], scores[a]) : Integer.compare(a, b));
+
+        for (int i = 0; i < Math.min(limit, matchCount); i++) {
+            courses.add(catalog.getCourseCode(ranked[i]));
+        }
+        return courses;
+    }
+
+    /**
+     * Splits text into lower case words, drops the stop words and stems the rest.
+     *
+     * @param text The text to split.
+     * @return The stems of the words, in order, with repeats.
+     */
+    static ArrayList<String> terms(String text) {
+        ArrayList<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^a-z]+")) {
+            if (word.length() > 1 && !STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Strips the common English suffixes of a word, so "coding", "codes" and "code" share a stem.
+     * This is a small subset of the Porter stemmer, which is enough for course names and interest tags.
+     *
+     * @param word A lower case word.
+     * @return The stem of the word.
+     */
+    static String stem(String word) {
+        String stem = word;
+        if (stem.length() > 4 && stem.endsWith("ies")) {
+            stem = stem.substring(0, stem.length() - 3) + "y";
+        } else if (stem.length() > 4 && (stem.endsWith("sses") || stem.endsWith("shes") || stem.endsWith("ches") || stem.endsWith("xes"))) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 3 && stem.endsWith("s") && !stem.endsWith("ss") && !stem.endsWith("us") && !stem.endsWith("is")) {
+            stem = stem.substring(0, stem.length() - 1);
+        }
+
+        if (stem.length() > 5 && stem.endsWith("ing")) {
+            stem = stem.substring(0, stem.length() - 3);
+        } else if (stem.length() > 4 && stem.endsWith("ed")) {
+            stem = stem.substring(0, stem.length() - 2);
+        } else if (stem.length() > 4 && stem.endsWith("ly")) {
+            stem = stem.substring(0, stem.length() - 2);
+        }
+
+        // "programm" from "programming" becomes "program", "code" and "cod" from "coding" become "cod"
+        int length = stem.length();
+        if (length > 3 && stem.charAt(length - 1) == stem.charAt(length - 2) && "lsz".indexOf(stem.charAt(length - 1)) < 0
+                && "aeiou".indexOf(stem.charAt(length - 1)) < 0) {
+            stem = stem.substring(0, length - 1);
+        } else if (length > 3 && stem.endsWith("e")) {
+            stem = stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+}
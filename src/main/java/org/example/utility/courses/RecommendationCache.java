@@ -0,0 +1,191 @@
+package org.example.utility.courses;
+
+import org.example.people.UserInput;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The RecommendationCache class keeps the plans built for recent student profiles, so students with the same inputs
+ * skip the API call, the initial course fill, the graduation credit fill and the engine walk.
+ *
+ * <p>A profile is keyed by the catalog version, the grade, the track, the sorted IDs of the previous courses and the
+ * normalized interests, which is everything the plan depends on before empty slots are filled. Filling empty slots
+ * involves the student (or a random pick), so it is never cached: a hit hands back a fresh copy of the plan
+ * with its empty slots still open.</p>
+ *
+ * <p>The cache is bounded by an estimate of the memory its entries use and evicts the least recently used
+ * entries first. Entries built from an older catalog are never hit again and age out the same way.</p>
+ */
+public class RecommendationCache {
+    /**
+     * The cache shared by the whole application.
+     */
+    private static final RecommendationCache instance = new RecommendationCache(8 * 1024 * 1024);
+
+    /**
+     * Estimated fixed cost of an entry in bytes: the map entry, the key and plan objects and their headers.
+     */
+    private static final int ENTRY_OVERHEAD = 160;
+
+    /**
+     * The maximum estimated size of all entries, in bytes.
+     */
+    private final long maxBytes;
+
+    /**
+     * The cached plans in access order, least recently used first.
+     */
+    private final LinkedHashMap<String, Plan> plans = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * The estimated size of all entries, in bytes.
+     */
+    private long bytes;
+
+    // Statistics, read without the lock
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * An immutable copy of a plan and the credits still to fulfill after it was built.
+     */
+    private static final class Plan {
+        private final Map<Integer, int[]> coursesByGrade;
+        private final GraduationCredits credits;
+        private final int weight;
+
+        private Plan(RecommendationContext context, int keyLength) {
+            Map<Integer, int[]> copy = new HashMap<>();
+            int slots = 0;
+            for (Map.Entry<Integer, int[]> entry : context.getRecommendedCoursesByGrade().entrySet()) {
+                copy.put(entry.getKey(), entry.getValue().clone());
+                slots += entry.getValue().length;
+            }
+            this.coursesByGrade = copy;
+            this.credits = context.getCredits().copy();
+            this.weight = ENTRY_OVERHEAD + keyLength * 2 + copy.size() * 48 + (slots + credits.getRequirements().size()) * Integer.BYTES;
+        }
+    }
+
+    /**
+     * Constructs a cache bounded by an estimate of the memory its entries use.
+     *
+     * @param maxBytes The maximum estimated size of all entries, in bytes.
+     */
+    public RecommendationCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Retrieves the cache shared by the whole application.
+     *
+     * @return The shared cache.
+     */
+    public static RecommendationCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Builds the cache key of a student's profile.
+     *
+     * @param catalog The catalog the plan is built against.
+     * @param student The student being assessed.
+     * @return The canonical key of the profile.
+     */
+    public static String key(CourseCatalog catalog, UserInput student) {
+        // The track is keyed as stored, which is its canonical spelling (see UserInput#setTrack), since the engine
+        // treats tracks that only differ in case as the same track.
+        // Previous courses are keyed by sorted ID, so their order and unknown codes do not matter
+        BitSet previousCourses = new BitSet(catalog.size());
+        for (String courseCode : Course.getPreviousCourseCodes(student)) {
+            int id = catalog.getId(courseCode);
+            if (id != CourseCatalog.NO_COURSE) {
+                previousCourses.set(id);
+            }
+        }
+
+        return catalog.getVersion() + "|" + student.getGrade() + "|" + student.getTrack()
+                + "|" + Arrays.toString(previousCourses.stream().toArray()) + "|" + UserInput.normalizeInterests(student.getInterests());
+    }
+
+    /**
+     * Looks up the plan of a profile.
+     *
+     * @param key     The key of the profile, from {@link #key(CourseCatalog, UserInput)}.
+     * @param catalog The catalog the assessment runs against.
+     * @param student The student being assessed.
+     * @return A new assessment holding a copy of the cached plan, or null if the profile is not cached.
+     */
+    public RecommendationContext get(String key, CourseCatalog catalog, UserInput student) {
+        Plan plan;
+        synchronized (this) {
+            plan = plans.get(key);
+        }
+        if (plan == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+
+        RecommendationContext context = new RecommendationContext(catalog, student, plan.credits.copy());
+        plan.coursesByGrade.forEach((grade, courses) -> context.getRecommendedCoursesByGrade().put(grade, courses.clone()));
+        return context;
+    }
+
+    /**
+     * Caches the plan of a profile, evicting the least recently used entries if the cache is full.
+     * The plan is copied, so the assessment can keep changing it.
+     *
+     * @param key     The key of the profile, from {@link #key(CourseCatalog, UserInput)}.
+     * @param context The assessment, with its plan built up to the point where empty slots are filled.
+     */
+    public void put(String key, RecommendationContext context) {
+        Plan plan = new Plan(context, key.length());
+        if (plan.weight > maxBytes) {
+            return;
+        }
+
+        synchronized (this) {
+            Plan previous = plans.put(key, plan);
+            bytes += plan.weight - (previous == null ? 0 : previous.weight);
+
+            Iterator<Plan> eldest = plans.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().weight;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes every cached plan.
+     */
+    public synchronized void clear() {
+        plans.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Retrieves the number of lookups that found a cached plan.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Retrieves the number of lookups that did not find a cached plan.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+}
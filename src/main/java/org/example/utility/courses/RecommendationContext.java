@@ -0,0 +1,155 @@
+package org.example.utility.courses;
+
+import org.example.people.UserInput;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The RecommendationContext class holds the state of one course assessment: the catalog it runs against,
+ * the student, the plan being built and the graduation credits still to fulfill.
+ *
+ * <p>Every step of the recommendation engine reads and writes this object instead of shared static fields,
+ * so each assessment starts from a clean plan and a full set of credits, and several assessments can run
+ * at the same time on one JVM. A context is not thread-safe itself and must only be used by one assessment.</p>
+ */
+public class RecommendationContext {
+    /**
+     * The catalog snapshot the whole assessment runs against.
+     */
+    private final CourseCatalog catalog;
+
+    /**
+     * The student being assessed.
+     */
+    private final UserInput student;
+
+    /**
+     * The recommended courses for each grade.
+     * The grade is the key, and the value is an array of recommended course IDs,
+     * with {@link CourseCatalog#NO_COURSE} marking an empty slot.
+     */
+    private final Map<Integer, int[]> recommendedCoursesByGrade = new HashMap<>();
+
+    /**
+     * The credits still to fulfill, starting from the catalog's graduation requirements.
+     */
+    private final GraduationCredits credits;
+
+    /**
+     * The random number generator used to fill empty slots with random courses.
+     */
+    private Random random = new Random();
+
+    /**
+     * The IDs of the courses retrieved via the API to fill empty slots, or null if the API has not been called yet.
+     */
+    private int[] apiCourses;
+
+    /**
+     * Constructs a context for assessing a student against a catalog.
+     *
+     * @param catalog The catalog snapshot the assessment runs against.
+     * @param student The student being assessed.
+     */
+    public RecommendationContext(CourseCatalog catalog, UserInput student) {
+        this(catalog, student, new GraduationCredits(catalog.getRequirements()));
+    }
+
+    /**
+     * Constructs a context for assessing a student against a catalog, with some credits already used.
+     *
+     * @param catalog The catalog snapshot the assessment runs against.
+     * @param student The student being assessed.
+     * @param credits The credits still to fulfill.
+     */
+    RecommendationContext(CourseCatalog catalog, UserInput student, GraduationCredits credits) {
+        this.catalog = catalog;
+        this.student = student;
+        this.credits = credits;
+    }
+
+    /**
+     * Retrieves the catalog the assessment runs against.
+     *
+     * @return The course catalog.
+     */
+    public CourseCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Retrieves the student being assessed.
+     *
+     * @return The student.
+     */
+    public UserInput getStudent() {
+        return student;
+    }
+
+    /**
+     * Retrieves the plan being built, keyed by grade level.
+     *
+     * @return The course IDs of each grade, with {@link CourseCatalog#NO_COURSE} marking an empty slot.
+     */
+    public Map<Integer, int[]> getRecommendedCoursesByGrade() {
+        return recommendedCoursesByGrade;
+    }
+
+    /**
+     * Retrieves the credits still to fulfill.
+     *
+     * @return The number of courses still needed for each graduation requirement.
+     */
+    public GraduationCredits getCredits() {
+        return credits;
+    }
+
+    /**
+     * Uses up one credit of a course, from its course area if that credit is still needed,
+     * otherwise from its graduation requirement group.
+     *
+     * @param course The course that was added to the plan.
+     */
+    void useCredit(Course course) {
+        credits.use(catalog, course.getId());
+    }
+
+    /**
+     * Retrieves the random number generator used to fill empty slots with random courses.
+     *
+     * @return The random number generator.
+     */
+    Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Makes the random course picks of this assessment reproducible.
+     * Two assessments with the same inputs and the same seed build the same plan.
+     *
+     * @param seed The seed of the random number generator.
+     */
+    public void setSeed(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Retrieves the courses retrieved via the API to fill empty slots.
+     *
+     * @return The course IDs, or null if the API has not been called yet.
+     */
+    int[] getApiCourses() {
+        return apiCourses;
+    }
+
+    /**
+     * Sets the courses retrieved via the API to fill empty slots.
+     *
+     * @param apiCourses The course IDs.
+     */
+    void setApiCourses(int[] apiCourses) {
+        this.apiCourses = apiCourses;
+    }
+}
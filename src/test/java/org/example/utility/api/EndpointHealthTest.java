@@ -0,0 +1,103 @@
+package org.example.utility.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the circuit breaker of {@link EndpointHealth}.
+ */
+class EndpointHealthTest {
+    private static EndpointHealth opened() {
+        EndpointHealth endpoint = new EndpointHealth("http://localhost/recommend-courses/");
+        endpoint.recordFailure();
+        endpoint.recordFailure();
+        endpoint.recordFailure();
+        return endpoint;
+    }
+
+    @Test
+    void opensAfterThreeFailuresInARow() {
+        EndpointHealth endpoint = new EndpointHealth("http://localhost/recommend-courses/");
+
+        assertFalse(endpoint.recordFailure());
+        assertFalse(endpoint.recordFailure());
+        assertTrue(endpoint.allowsRequests());
+        assertTrue(endpoint.recordFailure());
+        assertEquals(EndpointHealth.State.OPEN, endpoint.getState());
+        assertFalse(endpoint.allowsRequests());
+        assertFalse(endpoint.recordFailure()); // Already open, no second probe to schedule
+    }
+
+    @Test
+    void aSuccessResetsTheFailureCount() {
+        EndpointHealth endpoint = new EndpointHealth("http://localhost/recommend-courses/");
+        endpoint.recordFailure();
+        endpoint.recordFailure();
+        endpoint.recordSuccess(100);
+
+        assertFalse(endpoint.recordFailure());
+        assertFalse(endpoint.recordFailure());
+        assertEquals(EndpointHealth.State.CLOSED, endpoint.getState());
+    }
+
+    @Test
+    void aSuccessfulProbeClosesTheCircuit() {
+        EndpointHealth endpoint = opened();
+
+        assertTrue(endpoint.startProbe());
+        assertEquals(EndpointHealth.State.HALF_OPEN, endpoint.getState());
+        assertFalse(endpoint.allowsRequests());
+        assertFalse(endpoint.startProbe()); // One probe at a time
+        endpoint.recordSuccess(100);
+
+        assertEquals(EndpointHealth.State.CLOSED, endpoint.getState());
+        assertTrue(endpoint.allowsRequests());
+    }
+
+    @Test
+    void aFailedProbeReopensTheCircuitWithALongerDelay() {
+        EndpointHealth endpoint = opened();
+        long delay = endpoint.getRetryDelay();
+
+        endpoint.startProbe();
+        assertTrue(endpoint.recordFailure());
+        assertEquals(EndpointHealth.State.OPEN, endpoint.getState());
+        assertEquals(delay * 2, endpoint.getRetryDelay());
+
+        for (int i = 0; i < 10; i++) {
+            endpoint.startProbe();
+            endpoint.recordFailure();
+        }
+        assertEquals(60000, endpoint.getRetryDelay());
+    }
+
+    @Test
+    void anUnavailableEndpointGetsNoRequestsOrProbes() {
+        EndpointHealth endpoint = opened();
+        endpoint.setAvailable(false);
+
+        assertFalse(endpoint.allowsRequests());
+        assertFalse(endpoint.startProbe());
+
+        endpoint.setAvailable(true);
+        assertEquals(EndpointHealth.State.CLOSED, endpoint.getState());
+        assertTrue(endpoint.allowsRequests());
+    }
+
+    @Test
+    void tracksLatencyAndErrorRateAsMovingAverages() {
+        EndpointHealth endpoint = new EndpointHealth("http://localhost/recommend-courses/");
+        assertTrue(Double.isNaN(endpoint.getLatency()));
+
+        endpoint.recordSuccess(100);
+        assertEquals(100, endpoint.getLatency(), 1e-9);
+        endpoint.recordSuccess(200);
+        assertEquals(120, endpoint.getLatency(), 1e-9);
+
+        endpoint.recordFailure();
+        assertEquals(0.2, endpoint.getErrorRate(), 1e-9);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.utility.api;
+
+import org.example.utility.courses.CourseCatalog;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link RecommendationDecoder}, decoding responses against the course catalog.
+ */
+class RecommendationDecoderTest {
+    private static CourseCatalog catalog;
+    private static String first;
+    private static String second;
+    private static String third;
+
+    @BeforeAll
+    static void loadCatalog() {
+        catalog = CourseCatalog.getInstance();
+        first = catalog.getCourse(0).getCourseCode();
+        second = catalog.getCourse(1).getCourseCode();
+        third = catalog.getCourse(2).getCourseCode();
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String course(String code) {
+        return "{\"Course Name\": \"Name\", \"Course Code\": \"" + code + "\", \"Tags\": [\"a\", {\"b\": 1}]}";
+    }
+
+    @Test
+    void decodesCourseCodesInResponseOrder() throws IOException {
+        ArrayList<String> courses = RecommendationDecoder.decode(json("[" + course(second) + "," + course(first) + "]"), catalog, 10);
+
+        assertEquals(List.of(second, first), courses);
+    }
+
+    @Test
+    void dropsUnknownAndRepeatedCodes() throws IOException {
+        String body = "[" + course("NOT-A-COURSE") + "," + course(first) + "," + course(first) + "," + course(second) + "]";
+
+        assertEquals(List.of(first, second), RecommendationDecoder.decode(json(body), catalog, 10));
+    }
+
+    @Test
+    void stopsAtTheLimit() throws IOException {
+        // Everything past the limit is left unparsed, even if it is not valid JSON
+        String body = "[" + course(first) + "," + course(second) + "," + course(third) + ", not json";
+
+        assertEquals(List.of(first, second), RecommendationDecoder.decode(json(body), catalog, 2));
+    }
+
+    @Test
+    void ignoresCourseCodesThatAreNotStrings() throws IOException {
+        String body = "[{\"Course Code\": 12}, {\"Course Code\": null}, " + course(first) + "]";
+
+        assertEquals(List.of(first), RecommendationDecoder.decode(json(body), catalog, 10));
+    }
+
+    @Test
+    void rejectsAResponseThatIsNotAnArray() {
+        assertThrows(IOException.class, () -> RecommendationDecoder.decode(json("{\"detail\": \"Not Found\"}"), catalog, 10));
+        assertThrows(IOException.class, () -> RecommendationDecoder.decode(json("[\"" + first + "\"]"), catalog, 10));
+    }
+
+    @Test
+    void decodesOneResultPerQueryOfABatch() throws IOException {
+        String body = "[[" + course(first) + "," + course(second) + "," + course(third) + "], [], [" + course(third) + "]]";
+        List<ArrayList<String>> results = RecommendationDecoder.decodeBatch(json(body), catalog, 2);
+
+        assertEquals(3, results.size());
+        assertEquals(List.of(first, second), results.get(0));
+        assertTrue(results.get(1).isEmpty());
+        assertEquals(List.of(third), results.get(2));
+    }
+
+    @Test
+    void rejectsABatchWhoseResultsAreNotArrays() {
+        assertThrows(IOException.class, () -> RecommendationDecoder.decodeBatch(json("[" + course(first) + "]"), catalog, 10));
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.utility.batch;
+
+import org.example.people.UserInput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for {@link RosterReader}, reading CSV and JSON rosters.
+ */
+class RosterReaderTest {
+    @TempDir
+    Path directory;
+
+    private File write(String name, String content) throws IOException {
+        Path file = directory.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file.toFile();
+    }
+
+    @Test
+    void readsACsvRoster() throws IOException {
+        File roster = write("roster.csv", """
+                username,grade,track,interest1,interest2,previousCourses
+                s1,10,University,music,"art, design",ENG1D;MPM1D
+
+                s2, 11 ,college,coding,,
+                """);
+        List<UserInput> students = RosterReader.read(roster);
+
+        assertEquals(2, students.size());
+        UserInput first = students.get(0);
+        assertEquals("s1", first.getUsername());
+        assertEquals(10, first.getGrade());
+        assertEquals("University", first.getTrack());
+        assertEquals("music", first.getInterest1());
+        assertEquals("art, design", first.getInterest2());
+        assertEquals("[\"ENG1D\", \"MPM1D\"]", first.getPreviousCourses());
+
+        UserInput second = students.get(1);
+        assertEquals(11, second.getGrade());
+        assertEquals("College", second.getTrack());
+        assertEquals("", second.getInterest2());
+        assertEquals("[]", second.getPreviousCourses());
+    }
+
+    @Test
+    void readsAJsonRoster() throws IOException {
+        File roster = write("roster.json", """
+                [
+                  {"username": "s1", "grade": 12, "track": "OPEN", "interests": ["music", "art"], "previousCourses": ["ENG1D"]},
+                  {"username": "s2", "grade": 9, "track": "University"}
+                ]
+                """);
+        List<UserInput> students = RosterReader.read(roster);
+
+        assertEquals(2, students.size());
+        assertEquals("Open", students.get(0).getTrack());
+        assertEquals("music art", students.get(0).getInterests());
+        assertEquals("[\"ENG1D\"]", students.get(0).getPreviousCourses());
+        assertEquals("", students.get(1).getInterest1());
+        assertEquals("[]", students.get(1).getPreviousCourses());
+    }
+
+    @Test
+    void rejectsAnUnknownTrack() throws IOException {
+        File csv = write("roster.csv", "username,grade,track\ns1,10,University\ns2,10,Unversity\n");
+        File json = write("roster.json", "[{\"username\": \"s1\", \"grade\": 10, \"track\": \"\"}]");
+
+        IOException csvError = assertThrows(IOException.class, () -> RosterReader.read(csv));
+        assertTrue(csvError.getMessage().contains("line 3"), csvError.getMessage());
+        IOException jsonError = assertThrows(IOException.class, () -> RosterReader.read(json));
+        assertTrue(jsonError.getMessage().contains("entry 1"), jsonError.getMessage());
+    }
+
+    @Test
+    void rejectsAnInvalidGradeOrMissingColumns() throws IOException {
+        File badGrade = write("grade.csv", "username,grade,track\ns1,ten,University\n");
+        File missingColumns = write("columns.csv", "username,grade,track\ns1,10\n");
+
+        assertThrows(IOException.class, () -> RosterReader.read(badGrade));
+        assertThrows(IOException.class, () -> RosterReader.read(missingColumns));
+    }
+
+    @Test
+    void rejectsAJsonRosterThatIsNotAnArray() throws IOException {
+        File roster = write("roster.json", "{\"username\": \"s1\"}");
+
+        assertThrows(IOException.class, () -> RosterReader.read(roster));
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.utility.courses;
+
+import org.example.people.UserInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the {@link FillPolicy} implementations that do not need the API.
+ */
+class FillPolicyTest {
+    private static CourseCatalog catalog;
+
+    @BeforeAll
+    static void loadCatalog() {
+        catalog = CourseCatalog.getInstance();
+    }
+
+    /**
+     * Builds a plan without interest courses, which leaves slots to fill.
+     */
+    private static RecommendationContext plan() {
+        UserInput student = new UserInput(new String[]{"", ""}, "[]", 9, "University", "student");
+        RecommendationContext context = CourseAssembly.buildPlan(catalog, student, new ArrayList<>());
+        assertTrue(Course.hasEmptySlots(context));
+        return context;
+    }
+
+    @Test
+    void seededRandomFillPicksTheSameCourses() {
+        RecommendationContext first = plan();
+        RecommendationContext second = plan();
+        FillPolicy.random(42).fill(first).join();
+        FillPolicy.random(42).fill(second).join();
+
+        assertEquals(first.getRecommendedCoursesByGrade().keySet(), second.getRecommendedCoursesByGrade().keySet());
+        first.getRecommendedCoursesByGrade().forEach((grade, courses) ->
+                assertArrayEquals(courses, second.getRecommendedCoursesByGrade().get(grade), "Grade " + grade));
+    }
+
+    @Test
+    void failFastFailsAPlanWithEmptySlots() {
+        CompletionException error = assertThrows(CompletionException.class, () -> FillPolicy.failFast().fill(plan()).join());
+
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.utility.courses;
+
+import org.example.people.UserInput;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for {@link RecommendationCache}: which profiles share a key, and the copies the cache hands out.
+ */
+class RecommendationCacheTest {
+    private static CourseCatalog catalog;
+    private static String first;
+    private static String second;
+
+    @BeforeAll
+    static void loadCatalog() {
+        catalog = CourseCatalog.getInstance();
+        first = catalog.getCourse(0).getCourseCode();
+        second = catalog.getCourse(1).getCourseCode();
+    }
+
+    private static UserInput student(String interest1, String interest2, String previousCourses, int grade, String track) {
+        return new UserInput(new String[]{interest1, interest2}, previousCourses, grade, track, "student");
+    }
+
+    private static String key(UserInput student) {
+        return RecommendationCache.key(catalog, student);
+    }
+
+    @Test
+    void ignoresTheOrderOfPreviousCoursesAndUnknownCodes() {
+        String key = key(student("music", "art", "[\"" + first + "\", \"" + second + "\"]", 10, "University"));
+
+        assertEquals(key, key(student("music", "art", "[\"" + second + "\", \"NOT-A-COURSE\", \"" + first + "\"]", 10, "University")));
+    }
+
+    @Test
+    void ignoresTheCaseOfTheTrack() {
+        assertEquals(key(student("music", "art", "[]", 10, "University")), key(student("music", "art", "[]", 10, "UNIVERSITY")));
+    }
+
+    @Test
+    void ignoresTheCaseAndSpacingOfInterests() {
+        assertEquals(key(student("music", "art", "[]", 10, "College")), key(student(" Music ", "ART  ", "[]", 10, "College")));
+    }
+
+    @Test
+    void separatesProfilesThatPlanDifferently() {
+        String key = key(student("music", "art", "[\"" + first + "\"]", 10, "University"));
+
+        assertNotEquals(key, key(student("music", "art", "[\"" + first + "\"]", 11, "University")));
+        assertNotEquals(key, key(student("music", "art", "[\"" + first + "\"]", 10, "College")));
+        assertNotEquals(key, key(student("music", "art", "[\"" + second + "\"]", 10, "University")));
+        assertNotEquals(key, key(student("music", "coding", "[\"" + first + "\"]", 10, "University")));
+    }
+
+    @Test
+    void handsOutCopiesOfTheCachedPlan() {
+        RecommendationCache cache = new RecommendationCache(1024 * 1024);
+        UserInput student = student("music", "art", "[]", 9, "University");
+        String key = key(student);
+        assertNull(cache.get(key, catalog, student));
+
+        RecommendationContext context = CourseAssembly.buildPlan(catalog, student, new ArrayList<>());
+        cache.put(key, context);
+        RecommendationContext cached = cache.get(key, catalog, student);
+        RecommendationContext again = cache.get(key, catalog, student);
+
+        assertEquals(1, cache.getMisses());
+        assertEquals(2, cache.getHits());
+        context.getRecommendedCoursesByGrade().forEach((grade, courses) -> {
+            assertArrayEquals(courses, cached.getRecommendedCoursesByGrade().get(grade));
+            assertNotSame(cached.getRecommendedCoursesByGrade().get(grade), again.getRecommendedCoursesByGrade().get(grade));
+        });
+    }
+}